@@ -0,0 +1,25 @@
+package com.shuttleverse.community.api;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A window of results fetched with keyset pagination. The next window is requested by passing
+ * {@code nextCursor} back to the same endpoint; it is {@code null} once the results are exhausted.
+ */
+@Getter
+@AllArgsConstructor
+public class SVCursorPage<T> {
+
+  private List<T> content;
+  private int size;
+  private String nextCursor;
+  private boolean hasNext;
+
+  public <R> SVCursorPage<R> map(Function<? super T, ? extends R> converter) {
+    List<R> mapped = content.stream().<R>map(converter).toList();
+    return new SVCursorPage<>(mapped, size, nextCursor, hasNext);
+  }
+}
@@ -0,0 +1,252 @@
+package com.shuttleverse.community.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shuttleverse.community.config.SVGeoQueryCacheConfig;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.constants.SVInfoConstant;
+import com.shuttleverse.community.repository.SVLocationProjection;
+import com.shuttleverse.community.util.SVGeohash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Point;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches the matching ids and locations of {@code /within} and {@code /bbox} searches.
+ *
+ * <p>Requests are snapped before lookup so that nearby users share entries: a radius search is
+ * re-centred on its geohash cell and its radius grown to cover the original circle and rounded up
+ * to a 1-2-5 bucket, and a bounding box is widened outwards to the geohash grid. The loader runs
+ * against the snapped query, so a cached entry is a superset of every request that maps to its
+ * key, and each request narrows it back to its exact area and order before paging.
+ *
+ * <p>A write evicts every entry whose snapped region contains the old or new location of the
+ * entity. Every eviction also advances a generation per entity type, and an entry whose load
+ * overlapped an eviction is dropped again, so a load that read pre-commit rows cannot outlive the
+ * eviction that followed the commit. Hit, miss, eviction and size metrics are published under
+ * the {@code geoQuery} cache name, and explicit invalidations under
+ * {@code shuttleverse.geo.cache.invalidations}.
+ */
+@Component
+public class SVGeoQueryCache {
+
+  private final SVGeoQueryCacheConfig config;
+  private final Cache<Key, List<Location>> cache;
+  private final Map<SVEntityType, AtomicLong> generations = new EnumMap<>(SVEntityType.class);
+  private final Counter invalidations;
+
+  public SVGeoQueryCache(SVGeoQueryCacheConfig config, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(config.getMaxIds())
+        .weigher((Key key, List<Location> locations) -> locations.size() + 1)
+        .expireAfterWrite(config.getTtl())
+        .recordStats()
+        .build();
+    for (SVEntityType entityType : SVEntityType.values()) {
+      generations.put(entityType, new AtomicLong());
+    }
+    this.invalidations = meterRegistry.counter("shuttleverse.geo.cache.invalidations");
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "geoQuery");
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  /**
+   * Returns the ids of the entities inside the bounding box, ordered by id. The loader may return
+   * entities outside the box it is given.
+   */
+  public List<UUID> findWithinBounds(SVEntityType entityType, double minLon, double minLat,
+      double maxLon, double maxLat, Function<Envelope, List<SVLocationProjection>> loader) {
+    Envelope requested = new Envelope(minLon, maxLon, minLat, maxLat);
+    List<Location> locations;
+    if (config.isEnabled()) {
+      int precision = boundingBoxPrecision(requested);
+      Envelope snapped = new Envelope(
+          SVGeohash.bounds(SVGeohash.encode(minLat, minLon, precision)));
+      snapped.expandToInclude(SVGeohash.bounds(SVGeohash.encode(maxLat, maxLon, precision)));
+      locations = load(new BoundsKey(entityType, snapped),
+          () -> Location.copyOf(loader.apply(snapped)));
+    } else {
+      locations = Location.copyOf(loader.apply(requested));
+    }
+
+    return locations.stream()
+        .filter(location -> requested.covers(location.longitude(), location.latitude()))
+        .map(Location::id)
+        .toList();
+  }
+
+  /**
+   * Returns the ids of the entities within {@code distance} of {@code location}, nearest first and
+   * then by id. The loader may return entities outside the circle it is given.
+   */
+  public List<UUID> findWithinDistance(SVEntityType entityType, Point location, int distance,
+      BiFunction<Point, Integer, List<SVLocationProjection>> loader) {
+    List<Location> locations;
+    if (config.isEnabled()) {
+      String cell = SVGeohash.encode(location.getY(), location.getX(),
+          config.getDistancePrecision());
+      Envelope bounds = SVGeohash.bounds(cell);
+      Point center = SVInfoConstant.GEOMETRY_FACTORY.createPoint(bounds.centre());
+      // The snapped circle must contain the requested one wherever the request lies in the cell.
+      double halfDiagonal = Math.hypot(bounds.getWidth(), bounds.getHeight()) / 2;
+      int radius = radiusBucket((int) Math.min(Math.ceil(distance + halfDiagonal),
+          Integer.MAX_VALUE));
+      locations = load(new DistanceKey(entityType, cell, radius),
+          () -> Location.copyOf(loader.apply(center, radius)));
+    } else {
+      locations = Location.copyOf(loader.apply(location, distance));
+    }
+
+    double x = location.getX();
+    double y = location.getY();
+    return locations.stream()
+        .filter(candidate -> candidate.distance(x, y) <= distance)
+        .sorted(Comparator.comparingDouble((Location candidate) -> candidate.distance(x, y))
+            .thenComparing(Location::id))
+        .map(Location::id)
+        .toList();
+  }
+
+  /**
+   * Drops every cached search of {@code entityType} that could contain {@code location}, both now
+   * and once the surrounding transaction commits.
+   */
+  public void evict(SVEntityType entityType, Point location) {
+    if (!config.isEnabled() || location == null || location.isEmpty()) {
+      return;
+    }
+
+    Coordinate coordinate = location.getCoordinate();
+    evictCovering(entityType, coordinate);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evictCovering(entityType, coordinate);
+        }
+      });
+    }
+  }
+
+  /**
+   * Drops every cached search of {@code entityType}; used after bulk writes, where evicting point
+   * by point would scan the cache once per row.
+   */
+  public void evictAll(SVEntityType entityType) {
+    generations.get(entityType).incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> {
+      boolean matches = key.entityType() == entityType;
+      if (matches) {
+        invalidations.increment();
+      }
+      return matches;
+    });
+  }
+
+  private List<Location> load(Key key, Supplier<List<Location>> loader) {
+    AtomicLong generation = generations.get(key.entityType());
+    long loadedAt = generation.get();
+    List<Location> locations = cache.get(key, ignored -> loader.get());
+    if (generation.get() != loadedAt) {
+      cache.asMap().remove(key, locations);
+    }
+    return locations;
+  }
+
+  private void evictCovering(SVEntityType entityType, Coordinate coordinate) {
+    generations.get(entityType).incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> {
+      boolean covers = key.entityType() == entityType && key.covers(coordinate);
+      if (covers) {
+        invalidations.increment();
+      }
+      return covers;
+    });
+  }
+
+  /**
+   * Picks the coarsest geohash precision whose cells still fit {@code cellsPerBoundingBox} times
+   * across the box, so snapping never widens it by more than a couple of cells.
+   */
+  private int boundingBoxPrecision(Envelope envelope) {
+    double target = envelope.getWidth() / config.getCellsPerBoundingBox();
+    for (int precision = 1; precision < SVGeohash.MAX_PRECISION; precision++) {
+      if (SVGeohash.cellWidth(precision) <= target) {
+        return precision;
+      }
+    }
+    return SVGeohash.MAX_PRECISION;
+  }
+
+  private static int radiusBucket(int distance) {
+    if (distance <= 1) {
+      return distance;
+    }
+    int magnitude = 1;
+    while (true) {
+      for (int step : new int[]{1, 2, 5}) {
+        long bucket = (long) step * magnitude;
+        if (bucket >= distance) {
+          return (int) Math.min(bucket, Integer.MAX_VALUE);
+        }
+      }
+      magnitude *= 10;
+    }
+  }
+
+  private record Location(UUID id, double longitude, double latitude) {
+
+    static List<Location> copyOf(List<SVLocationProjection> projections) {
+      return projections.stream()
+          .map(projection -> new Location(projection.getId(), projection.getLongitude(),
+              projection.getLatitude()))
+          .toList();
+    }
+
+    double distance(double x, double y) {
+      return Math.hypot(longitude - x, latitude - y);
+    }
+  }
+
+  private interface Key {
+
+    SVEntityType entityType();
+
+    boolean covers(Coordinate coordinate);
+  }
+
+  private record BoundsKey(SVEntityType entityType, Envelope envelope) implements Key {
+
+    @Override
+    public boolean covers(Coordinate coordinate) {
+      return envelope.covers(coordinate);
+    }
+  }
+
+  private record DistanceKey(SVEntityType entityType, String cell, int radius) implements Key {
+
+    @Override
+    public boolean covers(Coordinate coordinate) {
+      return SVGeohash.bounds(cell).centre().distance(coordinate) <= radius;
+    }
+  }
+}
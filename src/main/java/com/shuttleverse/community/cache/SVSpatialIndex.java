@@ -0,0 +1,264 @@
+package com.shuttleverse.community.cache;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.ComparablePath;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.shuttleverse.community.config.SVSpatialIndexConfig;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.model.SVBaseModel;
+import com.shuttleverse.community.query.SVQueryModel;
+import com.shuttleverse.community.repository.SVLocationProjection;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Optional in-memory replica of the court, coach and stringer locations used to answer bounding
+ * box and radius searches without touching PostGIS. Only ids and locations come out of the index;
+ * callers hydrate the requested page from the database.
+ *
+ * <p>An {@link STRtree} cannot be modified once built, so each layer keeps the authoritative
+ * id-to-point map and rebuilds its tree lazily on the first query after a change. The replica is
+ * loaded at startup, kept current by the write paths of this instance and periodically reloaded to
+ * pick up writes made by other instances.
+ */
+@Slf4j
+@Component
+public class SVSpatialIndex {
+
+  private final SVSpatialIndexConfig config;
+  private final JPAQueryFactory queryFactory;
+  private final Map<SVEntityType, Layer> layers = new EnumMap<>(SVEntityType.class);
+  private volatile boolean ready;
+
+  public SVSpatialIndex(SVSpatialIndexConfig config, EntityManager entityManager) {
+    this.config = config;
+    this.queryFactory = new JPAQueryFactory(entityManager);
+    layers.put(SVEntityType.COURT, new Layer());
+    layers.put(SVEntityType.COACH, new Layer());
+    layers.put(SVEntityType.STRINGER, new Layer());
+  }
+
+  public boolean isAvailable() {
+    return config.isEnabled() && ready;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${shuttleverse.spatial-index.reload-interval:PT5M}",
+      initialDelayString = "${shuttleverse.spatial-index.reload-interval:PT5M}")
+  @Transactional(readOnly = true)
+  public synchronized void reload() {
+    if (!config.isEnabled()) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    layers.get(SVEntityType.COURT).replaceAll(() ->
+        loadPoints(SVQueryModel.court, SVQueryModel.court.id, SVQueryModel.court.locationPoint));
+    layers.get(SVEntityType.COACH).replaceAll(() ->
+        loadPoints(SVQueryModel.coach, SVQueryModel.coach.id, SVQueryModel.coach.locationPoint));
+    layers.get(SVEntityType.STRINGER).replaceAll(() ->
+        loadPoints(SVQueryModel.stringer, SVQueryModel.stringer.id,
+            SVQueryModel.stringer.locationPoint));
+    ready = true;
+
+    log.info("Spatial index loaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Records the current location of an entity once the surrounding transaction commits. A
+   * {@code null} location removes the entity from the index.
+   */
+  public void put(SVEntityType entityType, UUID id, Point location) {
+    if (!config.isEnabled()) {
+      return;
+    }
+    afterCommit(() -> layers.get(entityType).put(id, location));
+  }
+
+  public void remove(SVEntityType entityType, UUID id) {
+    put(entityType, id, null);
+  }
+
+  /**
+   * Returns the ids and locations of all entities inside the bounding box, ordered by id so that
+   * paging over the result is stable.
+   */
+  public List<SVLocationProjection> findWithinBounds(SVEntityType entityType, double minLon,
+      double minLat, double maxLon, double maxLat) {
+    Envelope envelope = new Envelope(minLon, maxLon, minLat, maxLat);
+
+    List<Entry> matches = new ArrayList<>();
+    for (Object item : layers.get(entityType).tree().query(envelope)) {
+      Entry entry = (Entry) item;
+      if (envelope.contains(entry.point().getCoordinate())) {
+        matches.add(entry);
+      }
+    }
+    matches.sort(Comparator.comparing(Entry::id));
+
+    return List.copyOf(matches);
+  }
+
+  /**
+   * Returns the ids and locations of all entities within {@code distance} of {@code location},
+   * nearest first. Distances are planar in the units of the point coordinates, matching
+   * {@code ST_DWithin} on the geometry column.
+   */
+  public List<SVLocationProjection> findWithinDistance(SVEntityType entityType, Point location,
+      double distance) {
+    Envelope envelope = new Envelope(location.getCoordinate());
+    envelope.expandBy(distance);
+
+    List<Entry> matches = new ArrayList<>();
+    for (Object item : layers.get(entityType).tree().query(envelope)) {
+      Entry entry = (Entry) item;
+      if (entry.point().distance(location) <= distance) {
+        matches.add(entry);
+      }
+    }
+    matches.sort(Comparator.comparingDouble((Entry entry) -> entry.point().distance(location))
+        .thenComparing(Entry::id));
+
+    return List.copyOf(matches);
+  }
+
+  private <T extends SVBaseModel> Map<UUID, Point> loadPoints(EntityPathBase<T> model,
+      ComparablePath<UUID> id, ComparablePath<Point> locationPoint) {
+    Map<UUID, Point> points = new HashMap<>();
+    for (Tuple row : queryFactory.select(id, locationPoint)
+        .from(model)
+        .where(locationPoint.isNotNull())
+        .fetch()) {
+      points.put(row.get(id), row.get(locationPoint));
+    }
+    return points;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private record Entry(UUID id, Point point) implements SVLocationProjection {
+
+    @Override
+    public UUID getId() {
+      return id;
+    }
+
+    @Override
+    public double getLongitude() {
+      return point.getX();
+    }
+
+    @Override
+    public double getLatitude() {
+      return point.getY();
+    }
+  }
+
+  private static final class Layer {
+
+    private final Map<UUID, Point> points = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final Object writeLock = new Object();
+    private Map<UUID, Point> changedDuringReload;
+    private volatile STRtree tree;
+
+    void put(UUID id, Point location) {
+      synchronized (writeLock) {
+        apply(points, id, location);
+        if (changedDuringReload != null) {
+          changedDuringReload.put(id, location);
+        }
+      }
+      version.incrementAndGet();
+      tree = null;
+    }
+
+    /**
+     * Replaces the points with a snapshot read by {@code loader}. Puts made while the snapshot is
+     * read may be newer than it, so they are recorded and replayed over it before the swap.
+     */
+    void replaceAll(Supplier<Map<UUID, Point>> loader) {
+      synchronized (writeLock) {
+        changedDuringReload = new HashMap<>();
+      }
+      Map<UUID, Point> loaded = null;
+      try {
+        loaded = new HashMap<>(loader.get());
+      } finally {
+        synchronized (writeLock) {
+          if (loaded != null) {
+            Map<UUID, Point> merged = loaded;
+            changedDuringReload.forEach((id, location) -> apply(merged, id, location));
+            points.keySet().retainAll(merged.keySet());
+            points.putAll(merged);
+          }
+          changedDuringReload = null;
+        }
+      }
+      version.incrementAndGet();
+      tree = null;
+    }
+
+    private static void apply(Map<UUID, Point> points, UUID id, Point location) {
+      if (location == null || location.isEmpty()) {
+        points.remove(id);
+      } else {
+        points.put(id, location);
+      }
+    }
+
+    STRtree tree() {
+      STRtree current = tree;
+      if (current != null) {
+        return current;
+      }
+
+      synchronized (this) {
+        if (tree != null) {
+          return tree;
+        }
+        long builtVersion = version.get();
+        STRtree rebuilt = new STRtree();
+        points.forEach((id, point) ->
+            rebuilt.insert(point.getEnvelopeInternal(), new Entry(id, point)));
+        rebuilt.build();
+        if (version.get() == builtVersion) {
+          tree = rebuilt;
+        }
+        return rebuilt;
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.shuttleverse.community.cache;
+
+import com.shuttleverse.community.config.SVTileConfig;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.locationtech.jts.geom.Point;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded LRU cache of encoded vector tiles keyed by {@code z/x/y}.
+ *
+ * <p>Writers call {@link #evict(Point)} with every location they touch; the tiles covering that
+ * point at each zoom level are dropped immediately and again after the surrounding transaction
+ * commits. Every eviction also advances a generation, and a tile rendered from a query that started
+ * before the latest eviction is not stored, so a read racing the write cannot leave a stale tile
+ * behind.
+ */
+@Component
+public class SVTileCache {
+
+  private final SVTileConfig config;
+  private final Map<String, byte[]> tiles;
+  private long generation;
+
+  public SVTileCache(SVTileConfig config) {
+    this.config = config;
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+        return size() > config.getCacheSize();
+      }
+    };
+  }
+
+  public synchronized byte[] get(int z, int x, int y) {
+    return tiles.get(key(z, x, y));
+  }
+
+  /**
+   * Returns the current generation, to be read before rendering a tile and passed to
+   * {@link #put}.
+   */
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Stores the tile unless an eviction happened since {@code generation} was read.
+   */
+  public synchronized void put(int z, int x, int y, byte[] tile, long generation) {
+    if (generation == this.generation) {
+      tiles.put(key(z, x, y), tile);
+    }
+  }
+
+  public void evict(Point location) {
+    if (location == null || location.isEmpty()) {
+      return;
+    }
+
+    evictTiles(location.getX(), location.getY());
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evictTiles(location.getX(), location.getY());
+        }
+      });
+    }
+  }
+
+  public synchronized void clear() {
+    generation++;
+    tiles.clear();
+  }
+
+  private synchronized void evictTiles(double longitude, double latitude) {
+    generation++;
+    for (int z = 0; z <= config.getMaxZoom(); z++) {
+      tiles.remove(key(z, tileX(longitude, z), tileY(latitude, z)));
+    }
+  }
+
+  private static String key(int z, int x, int y) {
+    return z + "/" + x + "/" + y;
+  }
+
+  private static int tileX(double longitude, int z) {
+    int n = 1 << z;
+    return clamp((int) Math.floor((longitude + 180.0) / 360.0 * n), n);
+  }
+
+  private static int tileY(double latitude, int z) {
+    int n = 1 << z;
+    double radians = Math.toRadians(latitude);
+    double y = (1.0 - Math.log(Math.tan(radians) + 1.0 / Math.cos(radians)) / Math.PI) / 2.0;
+    return clamp((int) Math.floor(y * n), n);
+  }
+
+  private static int clamp(int tile, int n) {
+    return Math.max(0, Math.min(n - 1, tile));
+  }
+}
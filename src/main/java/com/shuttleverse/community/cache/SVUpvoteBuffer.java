@@ -0,0 +1,301 @@
+package com.shuttleverse.community.cache;
+
+import com.shuttleverse.community.config.SVUpvoteBufferConfig;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.constants.SVInfoType;
+import com.shuttleverse.community.resolver.SVBaseEntityResolver;
+import com.shuttleverse.community.resolver.SVUpvotableEntityResolver;
+import com.shuttleverse.community.util.SVTrendingScore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for upvote counters. Votes are counted in striped {@link LongAdder}s keyed
+ * by the id of the voted schedule or price, and flushed as one {@code upvotes = upvotes + n}
+ * update per id, either on a fixed interval or as soon as the buffer holds
+ * {@code flushThreshold} votes. The same flush folds the votes of each court, coach or stringer
+ * into its trending score, treating the votes of one flush as cast at the time of the flush.
+ *
+ * <p>A vote is only counted once its transaction commits, so a flush never writes votes that roll
+ * back. Until a flush commits, {@link #pending(UUID)} reports the votes that are not yet in the
+ * database so that loaded entities can be overlaid with them. Ids are dropped from the buffer once
+ * a flush leaves nothing pending for them.
+ *
+ * <p>Buffered votes live only in memory, so a crash loses up to one flush interval of counter
+ * and trending updates. Every vote row is written synchronously to the upvote table, and
+ * {@link #reconcile()} recounts the counters from it at startup and on
+ * {@code reconcileInterval}. Trending scores are not recounted.
+ */
+@Slf4j
+@Component
+public class SVUpvoteBuffer {
+
+  private final SVUpvoteBufferConfig config;
+  private final SVUpvotableEntityResolver upvotableEntityResolver;
+  private final SVBaseEntityResolver baseEntityResolver;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<UUID, PendingCount> counts = new ConcurrentHashMap<>();
+  private final Map<UUID, PendingTrend> trends = new ConcurrentHashMap<>();
+  private final LongAdder buffered = new LongAdder();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "upvote-flush");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final Counter flushed;
+
+  public SVUpvoteBuffer(SVUpvoteBufferConfig config,
+      SVUpvotableEntityResolver upvotableEntityResolver, SVBaseEntityResolver baseEntityResolver,
+      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.upvotableEntityResolver = upvotableEntityResolver;
+    this.baseEntityResolver = baseEntityResolver;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.flushed = meterRegistry.counter("shuttleverse.upvotes.flushed");
+    meterRegistry.gauge("shuttleverse.upvotes.buffered", buffered, LongAdder::sum);
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  /**
+   * Counts one vote for the given entity, which belongs to the court, coach or stringer
+   * {@code parentId}, once the surrounding transaction commits.
+   */
+  public void increment(SVEntityType entityType, SVInfoType infoType, UUID id, UUID parentId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      count(entityType, infoType, id, parentId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        count(entityType, infoType, id, parentId);
+      }
+    });
+  }
+
+  /**
+   * Returns the votes for the entity that have not been written to its counter yet.
+   */
+  public int pending(UUID id) {
+    PendingCount count = counts.get(id);
+    if (count == null) {
+      return 0;
+    }
+    return (int) (count.delta.sum() + count.inFlight.sum());
+  }
+
+  @Scheduled(fixedDelayString = "${shuttleverse.upvote-buffer.flush-interval:PT2S}",
+      initialDelayString = "${shuttleverse.upvote-buffer.flush-interval:PT2S}")
+  public void flush() {
+    if (!flushLock.tryLock()) {
+      return;
+    }
+    try {
+      drain();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Flushes the buffer, then sets every counter that disagrees with the upvote table to the number
+   * of vote rows. Ids with votes still buffered are skipped, as their rows may already be counted.
+   * A vote committed while the recount runs, here or on another instance, can still be counted
+   * twice until the next reconcile.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${shuttleverse.upvote-buffer.reconcile-interval:PT1H}",
+      initialDelayString = "${shuttleverse.upvote-buffer.reconcile-interval:PT1H}")
+  public void reconcile() {
+    if (!config.isEnabled()) {
+      return;
+    }
+
+    flushLock.lock();
+    try {
+      drain();
+      Set<UUID> busy = new HashSet<>();
+      counts.forEach((id, count) -> {
+        if (!count.isEmpty()) {
+          busy.add(id);
+        }
+      });
+      int recounted = transactionTemplate.execute(status ->
+          upvotableEntityResolver.getRepositories().stream()
+              .mapToInt(repository -> busy.isEmpty()
+                  ? repository.recountUpvotes()
+                  : repository.recountUpvotes(busy))
+              .sum());
+      if (recounted > 0) {
+        log.warn("Recounted {} upvote counters that had drifted from the upvote table",
+            recounted);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to reconcile upvote counters", e);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    flushExecutor.shutdown();
+    flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+
+    flushLock.lock();
+    try {
+      drain();
+    } finally {
+      flushLock.unlock();
+    }
+
+    counts.forEach((id, count) -> {
+      long remaining = count.delta.sum();
+      if (remaining != 0) {
+        log.error("Lost {} buffered upvotes for {} {} {}", remaining, count.entityType,
+            count.infoType, id);
+      }
+    });
+  }
+
+  /**
+   * Moves the buffered deltas to in-flight, applies them in one transaction and only then clears
+   * them, so {@link #pending(UUID)} never under-reports while a flush is running. A failed flush
+   * puts the deltas back for the next attempt.
+   */
+  private void drain() {
+    Map<UUID, Long> batch = new HashMap<>();
+    counts.forEach((id, count) -> {
+      long delta = count.delta.sum();
+      if (delta != 0) {
+        count.inFlight.add(delta);
+        count.delta.add(-delta);
+        batch.put(id, delta);
+      }
+    });
+    Map<UUID, Long> trendBatch = new HashMap<>();
+    trends.forEach((parentId, trend) -> {
+      long votes = trend.votes.sum();
+      if (votes != 0) {
+        trend.votes.add(-votes);
+        trendBatch.put(parentId, votes);
+      }
+    });
+    if (batch.isEmpty() && trendBatch.isEmpty()) {
+      return;
+    }
+
+    Instant now = Instant.now();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        batch.forEach((id, delta) -> {
+          PendingCount count = counts.get(id);
+          upvotableEntityResolver.getRepository(count.entityType, count.infoType)
+              .addUpvotes(id, Math.toIntExact(delta));
+        });
+        trendBatch.forEach((parentId, votes) ->
+            baseEntityResolver.getRepository(trends.get(parentId).entityType)
+                .addTrendingWeight(parentId, SVTrendingScore.weight(now, votes)));
+      });
+    } catch (RuntimeException e) {
+      log.warn("Failed to flush {} upvote counters, retrying on the next flush", batch.size(), e);
+      batch.forEach((id, delta) -> {
+        PendingCount count = counts.get(id);
+        count.delta.add(delta);
+        count.inFlight.add(-delta);
+      });
+      trendBatch.forEach((parentId, votes) -> trends.get(parentId).votes.add(votes));
+      return;
+    }
+
+    long total = 0;
+    for (Map.Entry<UUID, Long> entry : batch.entrySet()) {
+      counts.get(entry.getKey()).inFlight.add(-entry.getValue());
+      total += entry.getValue();
+    }
+    buffered.add(-total);
+    flushed.increment(total);
+
+    // Removal runs inside compute, as counting does, so a vote can never land on a removed entry.
+    batch.keySet().forEach(id ->
+        counts.computeIfPresent(id, (key, count) -> count.isEmpty() ? null : count));
+    trendBatch.keySet().forEach(parentId ->
+        trends.computeIfPresent(parentId, (key, trend) -> trend.votes.sum() == 0 ? null : trend));
+  }
+
+  private void count(SVEntityType entityType, SVInfoType infoType, UUID id, UUID parentId) {
+    counts.compute(id, (key, count) -> {
+      PendingCount current = count != null ? count : new PendingCount(entityType, infoType);
+      current.delta.increment();
+      return current;
+    });
+    trends.compute(parentId, (key, trend) -> {
+      PendingTrend current = trend != null ? trend : new PendingTrend(entityType);
+      current.votes.increment();
+      return current;
+    });
+    buffered.increment();
+
+    if (buffered.sum() >= config.getFlushThreshold()) {
+      try {
+        flushExecutor.execute(this::flush);
+      } catch (RejectedExecutionException e) {
+        log.debug("Upvote flush executor is shut down, leaving votes for the final drain");
+      }
+    }
+  }
+
+  private static final class PendingTrend {
+
+    private final SVEntityType entityType;
+    private final LongAdder votes = new LongAdder();
+
+    private PendingTrend(SVEntityType entityType) {
+      this.entityType = entityType;
+    }
+  }
+
+  private static final class PendingCount {
+
+    private final SVEntityType entityType;
+    private final SVInfoType infoType;
+    private final LongAdder delta = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+
+    private PendingCount(SVEntityType entityType, SVInfoType infoType) {
+      this.entityType = entityType;
+      this.infoType = infoType;
+    }
+
+    private boolean isEmpty() {
+      return delta.sum() == 0 && inFlight.sum() == 0;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.shuttleverse.community.cache;
+
+import com.shuttleverse.community.model.SVBaseUpvotable;
+import jakarta.persistence.PostLoad;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the votes still held by {@link SVUpvoteBuffer} to every upvotable entity loaded from the
+ * database, so responses reflect a vote as soon as it is cast. The buffer is looked up lazily
+ * because Hibernate instantiates entity listeners while the entity manager factory is being built.
+ */
+@Component
+public class SVUpvoteOverlayListener {
+
+  private final ObjectProvider<SVUpvoteBuffer> upvoteBuffer;
+
+  public SVUpvoteOverlayListener(ObjectProvider<SVUpvoteBuffer> upvoteBuffer) {
+    this.upvoteBuffer = upvoteBuffer;
+  }
+
+  @PostLoad
+  public void overlayPendingUpvotes(SVBaseUpvotable entity) {
+    SVUpvoteBuffer buffer = upvoteBuffer.getIfAvailable();
+    if (buffer == null || !buffer.isEnabled()) {
+      return;
+    }
+
+    int pending = buffer.pending(entity.getId());
+    if (pending != 0) {
+      entity.setUpvotes(entity.getUpvotes() + pending);
+    }
+  }
+}
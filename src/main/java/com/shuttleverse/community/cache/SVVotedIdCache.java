@@ -0,0 +1,183 @@
+package com.shuttleverse.community.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shuttleverse.community.config.SVVotedIdCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches, per user, the ids of every entity the user has voted on. Each set is stored as a sorted
+ * array of the ids' two longs and probed with a binary search, which keeps a user with thousands of
+ * votes at a few dozen kilobytes.
+ *
+ * <p>Users with more than {@code maxIdsPerUser} votes are cached as oversized, so their lookups go
+ * straight to the database without reloading their votes. New votes are added to a cached set after
+ * their transaction commits.
+ */
+@Component
+public class SVVotedIdCache {
+
+  private static final VotedIds OVERSIZED = new VotedIds(new long[0]);
+
+  private final SVVotedIdCacheConfig config;
+  private final Cache<UUID, VotedIds> cache;
+
+  public SVVotedIdCache(SVVotedIdCacheConfig config, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(config.getMaxUsers())
+        .expireAfterWrite(config.getTtl())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "votedIds");
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  public int getMaxIdsPerUser() {
+    return config.getMaxIdsPerUser();
+  }
+
+  /**
+   * Returns the subset of {@code entityIds} the user has voted on, in request order, or
+   * {@code null} if the user's votes are not cacheable. The loader must return at most
+   * {@code maxIdsPerUser + 1} ids so that an oversized set can be detected.
+   */
+  public Set<UUID> findVoted(UUID userId, Collection<UUID> entityIds,
+      Function<UUID, List<UUID>> loader) {
+    VotedIds voted = cache.get(userId, key -> {
+      List<UUID> ids = loader.apply(key);
+      return ids.size() > config.getMaxIdsPerUser() ? OVERSIZED : VotedIds.of(ids);
+    });
+    if (voted == OVERSIZED) {
+      return null;
+    }
+
+    Set<UUID> result = new LinkedHashSet<>();
+    for (UUID entityId : entityIds) {
+      if (voted.contains(entityId)) {
+        result.add(entityId);
+      }
+    }
+    return result;
+  }
+
+  public void add(UUID userId, UUID entityId) {
+    afterCommit(() -> cache.asMap().computeIfPresent(userId, (key, voted) -> {
+      if (voted == OVERSIZED) {
+        return voted;
+      }
+      return voted.size() >= config.getMaxIdsPerUser() ? OVERSIZED : voted.with(entityId);
+    }));
+  }
+
+  /**
+   * Drops the cached sets of the given users once the surrounding transaction commits; used when
+   * votes of theirs are removed.
+   */
+  public void invalidate(Collection<UUID> userIds) {
+    if (!userIds.isEmpty()) {
+      afterCommit(() -> cache.invalidateAll(userIds));
+    }
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private record VotedIds(long[] bits) {
+
+    static VotedIds of(List<UUID> ids) {
+      UUID[] sorted = ids.stream().distinct().sorted().toArray(UUID[]::new);
+      long[] bits = new long[sorted.length * 2];
+      for (int i = 0; i < sorted.length; i++) {
+        bits[2 * i] = sorted[i].getMostSignificantBits();
+        bits[2 * i + 1] = sorted[i].getLeastSignificantBits();
+      }
+      return new VotedIds(bits);
+    }
+
+    int size() {
+      return bits.length / 2;
+    }
+
+    boolean contains(UUID id) {
+      return indexOf(id) >= 0;
+    }
+
+    VotedIds with(UUID id) {
+      int index = indexOf(id);
+      if (index >= 0) {
+        return this;
+      }
+
+      int insertAt = -(index + 1);
+      long[] copy = new long[bits.length + 2];
+      System.arraycopy(bits, 0, copy, 0, insertAt * 2);
+      copy[insertAt * 2] = id.getMostSignificantBits();
+      copy[insertAt * 2 + 1] = id.getLeastSignificantBits();
+      System.arraycopy(bits, insertAt * 2, copy, insertAt * 2 + 2, bits.length - insertAt * 2);
+      return new VotedIds(copy);
+    }
+
+    /**
+     * Binary search in {@link UUID#compareTo} order, which compares both halves as signed longs.
+     */
+    private int indexOf(UUID id) {
+      int low = 0;
+      int high = size() - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int cmp = Long.compare(bits[2 * mid], id.getMostSignificantBits());
+        if (cmp == 0) {
+          cmp = Long.compare(bits[2 * mid + 1], id.getLeastSignificantBits());
+        }
+        if (cmp < 0) {
+          low = mid + 1;
+        } else if (cmp > 0) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -(low + 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof VotedIds voted && Arrays.equals(bits, voted.bits);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+      return "VotedIds[" + size() + "]";
+    }
+  }
+}
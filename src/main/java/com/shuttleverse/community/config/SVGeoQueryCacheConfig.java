@@ -0,0 +1,18 @@
+package com.shuttleverse.community.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "shuttleverse.geo-cache")
+public class SVGeoQueryCacheConfig {
+
+  private boolean enabled = true;
+  private Duration ttl = Duration.ofMinutes(2);
+  private long maxIds = 200_000;
+  private int distancePrecision = 7;
+  private int cellsPerBoundingBox = 8;
+}
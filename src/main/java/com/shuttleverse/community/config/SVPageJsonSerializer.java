@@ -6,28 +6,33 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
 import org.springframework.boot.jackson.JsonComponent;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 /**
- * Custom JSON serializer for Spring Data Page objects to provide a stable and consistent JSON
- * structure.
+ * Custom JSON serializer for Spring Data Page and Slice objects to provide a stable and consistent
+ * JSON structure. Totals are only written for a {@link Page}; a plain {@link Slice} is fetched
+ * without a count query and only reports whether another page exists.
  */
 @JsonComponent
-public class SVPageJsonSerializer extends JsonSerializer<Page<?>> {
+public class SVPageJsonSerializer extends JsonSerializer<Slice<?>> {
 
   @Override
-  public void serialize(Page<?> page, JsonGenerator gen, SerializerProvider serializers)
+  public void serialize(Slice<?> slice, JsonGenerator gen, SerializerProvider serializers)
       throws IOException {
     gen.writeStartObject();
 
-    gen.writeObjectField("content", page.getContent());
-    gen.writeNumberField("page", page.getNumber());
-    gen.writeNumberField("size", page.getSize());
-    gen.writeNumberField("totalElements", page.getTotalElements());
-    gen.writeNumberField("totalPages", page.getTotalPages());
-    gen.writeBooleanField("first", page.isFirst());
-    gen.writeBooleanField("last", page.isLast());
-    gen.writeBooleanField("empty", page.isEmpty());
+    gen.writeObjectField("content", slice.getContent());
+    gen.writeNumberField("page", slice.getNumber());
+    gen.writeNumberField("size", slice.getSize());
+    if (slice instanceof Page<?> page) {
+      gen.writeNumberField("totalElements", page.getTotalElements());
+      gen.writeNumberField("totalPages", page.getTotalPages());
+    }
+    gen.writeBooleanField("first", slice.isFirst());
+    gen.writeBooleanField("last", slice.isLast());
+    gen.writeBooleanField("hasNext", slice.hasNext());
+    gen.writeBooleanField("empty", slice.isEmpty());
 
     gen.writeEndObject();
   }
-}
\ No newline at end of file
+}
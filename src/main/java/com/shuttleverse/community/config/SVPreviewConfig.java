@@ -0,0 +1,40 @@
+package com.shuttleverse.community.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "shuttleverse.previews")
+public class SVPreviewConfig {
+
+  private boolean enabled = true;
+  private int workers = 2;
+
+  /**
+   * Files that do not fit in the queue stay pending in the database until a later sweep.
+   */
+  private int queueCapacity = 200;
+  private Duration sweepInterval = Duration.ofSeconds(30);
+
+  /**
+   * Longest side of a preview in pixels.
+   */
+  private int maxDimension = 1024;
+  private float quality = 0.75f;
+
+  /**
+   * Failed files are retried after {@code retryDelay}, doubling per attempt, until
+   * {@code maxAttempts} is reached.
+   */
+  private int maxAttempts = 5;
+  private Duration retryDelay = Duration.ofMinutes(1);
+
+  /**
+   * How long a file being rendered stays reserved for the worker rendering it. A file still in
+   * progress after that, e.g. because its instance stopped, is taken over by the next sweep.
+   */
+  private Duration leaseTimeout = Duration.ofMinutes(5);
+}
@@ -1,8 +1,10 @@
 package com.shuttleverse.community.config;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Data
 @Configuration
@@ -14,5 +16,61 @@ public class SVR2Config {
   private String secretKey;
   private String bucket;
   private String publicBaseUrl;
-}
 
+  /**
+   * Overrides the account endpoint, e.g. to point at a local S3-compatible server.
+   */
+  private String endpoint;
+
+  /**
+   * Files of at least this size are sent as multipart uploads.
+   */
+  private DataSize multipartThreshold = DataSize.ofMegabytes(16);
+
+  /**
+   * Size of each multipart part. R2 and S3 reject parts under 5MB other than the last.
+   */
+  private DataSize partSize = DataSize.ofMegabytes(8);
+
+  /**
+   * Files uploaded in parallel, and likewise parts of multipart uploads. All multipart uploads
+   * share this many part buffers, so their memory stays bounded however many run at once.
+   */
+  private int uploadConcurrency = 4;
+
+  /**
+   * How long presigned upload URLs stay valid.
+   */
+  private Duration presignExpiry = Duration.ofMinutes(15);
+
+  /**
+   * Largest file a presigned upload may carry.
+   */
+  private DataSize maxUploadSize = DataSize.ofMegabytes(165);
+
+  /**
+   * Connections the non-blocking client keeps open to storage.
+   */
+  private int maxConnections = 64;
+
+  private Duration connectionTimeout = Duration.ofSeconds(5);
+
+  /**
+   * How long a request waits for a free connection before failing.
+   */
+  private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+
+  private Duration readTimeout = Duration.ofSeconds(30);
+
+  private Duration writeTimeout = Duration.ofSeconds(30);
+
+  /**
+   * Retries of a failed request, spaced by full-jitter exponential backoff between
+   * {@code retryBaseDelay} and {@code retryMaxBackoff}.
+   */
+  private int maxRetries = 3;
+
+  private Duration retryBaseDelay = Duration.ofMillis(100);
+
+  private Duration retryMaxBackoff = Duration.ofSeconds(10);
+}
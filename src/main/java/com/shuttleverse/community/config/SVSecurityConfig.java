@@ -46,7 +46,7 @@ public class SVSecurityConfig {
         .authorizeHttpRequests(authorize -> authorize
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
             .requestMatchers(HttpMethod.GET, "/coach/**", "/court/**", "/stringer/**",
-                "/upvote/**").permitAll()
+                "/upvote/**", "/tiles/**").permitAll()
             .requestMatchers("/error").permitAll()
             .anyRequest().authenticated())
         .oauth2ResourceServer(oauth2 -> oauth2
@@ -0,0 +1,26 @@
+package com.shuttleverse.community.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers spatial HQL functions that Hibernate Spatial does not provide out of the box.
+ *
+ * <p>{@code knn_distance(a, b)} renders PostGIS' {@code <->} distance operator. Ordering by it
+ * lets PostgreSQL walk a GiST index on the geometry column in nearest-first order instead of
+ * computing and sorting {@code ST_Distance} for every candidate row.
+ */
+public class SVSpatialFunctionContributor implements FunctionContributor {
+
+  public static final String KNN_DISTANCE = "knn_distance";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    functionContributions.getFunctionRegistry().registerPattern(
+        KNN_DISTANCE,
+        "(?1 <-> ?2)",
+        functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+            .resolve(StandardBasicTypes.DOUBLE));
+  }
+}
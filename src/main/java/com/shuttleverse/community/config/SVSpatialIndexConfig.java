@@ -0,0 +1,15 @@
+package com.shuttleverse.community.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "shuttleverse.spatial-index")
+public class SVSpatialIndexConfig {
+
+  private boolean enabled = false;
+  private Duration reloadInterval = Duration.ofMinutes(5);
+}
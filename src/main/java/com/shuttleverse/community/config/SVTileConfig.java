@@ -0,0 +1,14 @@
+package com.shuttleverse.community.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "shuttleverse.tiles")
+public class SVTileConfig {
+
+  private int maxZoom = 22;
+  private int cacheSize = 4096;
+}
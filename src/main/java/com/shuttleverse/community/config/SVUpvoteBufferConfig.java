@@ -0,0 +1,17 @@
+package com.shuttleverse.community.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "shuttleverse.upvote-buffer")
+public class SVUpvoteBufferConfig {
+
+  private boolean enabled = true;
+  private Duration flushInterval = Duration.ofSeconds(2);
+  private long flushThreshold = 500;
+  private Duration reconcileInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,17 @@
+package com.shuttleverse.community.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "shuttleverse.voted-cache")
+public class SVVotedIdCacheConfig {
+
+  private boolean enabled = true;
+  private Duration ttl = Duration.ofMinutes(10);
+  private long maxUsers = 10_000;
+  private int maxIdsPerUser = 5_000;
+}
@@ -9,6 +9,14 @@ public enum SVEntityType {
   STRINGER,
   COACH;
 
+  public static SVEntityType fromString(String value) {
+    try {
+      return SVEntityType.valueOf(value.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid entity type: " + value);
+    }
+  }
+
   public static SVEntityType fromOrdinal(int ordinal) {
     try {
       return values()[ordinal];
@@ -3,11 +3,15 @@ package com.shuttleverse.community.constants;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
 
 public class SVInfoConstant {
 
-  private static final GeometryFactory geometryFactory = new GeometryFactory();
+  public static final int SRID = 4326;
 
-  public static final Point DEFAULT_LOCATION = geometryFactory.createPoint(
+  public static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(
+      new PrecisionModel(), SRID);
+
+  public static final Point DEFAULT_LOCATION = GEOMETRY_FACTORY.createPoint(
       new Coordinate(-71.0589, 42.3601));
 }
@@ -0,0 +1,5 @@
+package com.shuttleverse.community.constants;
+
+public enum SVPreviewStatus {
+  PENDING, IN_PROGRESS, READY, SKIPPED, FAILED
+}
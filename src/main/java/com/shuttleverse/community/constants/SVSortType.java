@@ -4,7 +4,8 @@ import jakarta.ws.rs.BadRequestException;
 
 public enum SVSortType {
   NAME,
-  LOCATION;
+  LOCATION,
+  TRENDING;
 
   public static SVSortType fromString(String value) {
     try {
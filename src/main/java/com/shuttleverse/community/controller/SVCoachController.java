@@ -1,11 +1,13 @@
 package com.shuttleverse.community.controller;
 
 import com.shuttleverse.community.api.SVApiResponse;
+import com.shuttleverse.community.api.SVCursorPage;
 import com.shuttleverse.community.dto.SVCoachPriceResponse;
 import com.shuttleverse.community.dto.SVCoachResponse;
 import com.shuttleverse.community.dto.SVCoachScheduleResponse;
 import com.shuttleverse.community.dto.SVEntityPriceCreationData;
 import com.shuttleverse.community.dto.SVEntityScheduleCreationData;
+import com.shuttleverse.community.dto.SVMapClusterResponse;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
 import com.shuttleverse.community.model.SVCoach;
 import com.shuttleverse.community.model.SVCoachPrice;
@@ -13,7 +15,9 @@ import com.shuttleverse.community.model.SVCoachSchedule;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.SVBoundingBoxParams;
 import com.shuttleverse.community.params.SVCoachCreationData;
+import com.shuttleverse.community.params.SVDistanceCursor;
 import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVNearestParams;
 import com.shuttleverse.community.params.SVSortParams;
 import com.shuttleverse.community.params.SVWithinDistanceParams;
 import com.shuttleverse.community.service.SVCoachService;
@@ -24,9 +28,9 @@ import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -61,40 +65,83 @@ public class SVCoachController {
   }
 
   @GetMapping
-  public ResponseEntity<SVApiResponse<Page<SVCoachResponse>>> getAllCoaches(
+  public ResponseEntity<SVApiResponse<Slice<SVCoachResponse>>> getAllCoaches(
       @ModelAttribute SVEntityFilterParams params,
       @ModelAttribute SVSortParams sortParams,
       @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "false") boolean slice) {
 
     Pageable pageable = PageRequest.of(page, size);
 
-    Page<SVCoach> coaches = coachService.getAllCoaches(params, sortParams, pageable);
-    Page<SVCoachResponse> response = coaches.map(mapper::toCoachResponse);
+    Slice<SVCoach> coaches = slice
+        ? coachService.getAllCoachesSlice(params, sortParams, pageable)
+        : coachService.getAllCoaches(params, sortParams, pageable);
+    Slice<SVCoachResponse> response = coaches.map(mapper::toCoachResponse);
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/scroll")
+  public ResponseEntity<SVApiResponse<SVCursorPage<SVCoachResponse>>> scrollCoaches(
+      @ModelAttribute SVEntityFilterParams params,
+      @ModelAttribute SVSortParams sortParams,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+
+    SVCursorPage<SVCoach> coaches = coachService.getAllCoachesByCursor(params, sortParams,
+        SVDistanceCursor.decode(cursor), size);
+    SVCursorPage<SVCoachResponse> response = coaches.map(mapper::toCoachResponse);
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/nearest")
+  public ResponseEntity<SVApiResponse<List<SVCoachResponse>>> getNearestCoaches(
+      @Valid @ModelAttribute SVNearestParams params) {
+    List<SVCoachResponse> response = coachService.getNearestCoaches(params).stream()
+        .map(mapper::toCoachResponse)
+        .toList();
+
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
 
   @GetMapping("/bbox")
-  public ResponseEntity<SVApiResponse<Page<SVCoachResponse>>> getCoachesByBoundingBox(
+  public ResponseEntity<SVApiResponse<Slice<SVCoachResponse>>> getCoachesByBoundingBox(
+      @Valid @ModelAttribute SVBoundingBoxParams params,
+      Pageable pageable,
+      @RequestParam(defaultValue = "false") boolean slice) {
+    Slice<SVCoach> courts = slice
+        ? coachService.getCoachesByBoundingBoxSlice(params, pageable)
+        : coachService.getCoachesByBoundingBox(params, pageable);
+    Slice<SVCoachResponse> response = courts.map(mapper::toCoachResponse);
+
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/bbox/clusters")
+  public ResponseEntity<SVApiResponse<List<SVMapClusterResponse>>> getCoachClusters(
       @Valid @ModelAttribute SVBoundingBoxParams params,
-      Pageable pageable) {
-    Page<SVCoach> courts = coachService.getCoachesByBoundingBox(params, pageable);
-    Page<SVCoachResponse> response = courts.map(mapper::toCoachResponse);
+      @RequestParam int zoom) {
+    List<SVMapClusterResponse> response = coachService.getCoachClusters(params, zoom).stream()
+        .map(mapper::toMapClusterResponse)
+        .toList();
 
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
 
   @GetMapping("/within")
-  public ResponseEntity<SVApiResponse<Page<SVCoachResponse>>> getCourtsByDistance(
+  public ResponseEntity<SVApiResponse<Slice<SVCoachResponse>>> getCourtsByDistance(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @Valid @ModelAttribute SVWithinDistanceParams params) {
+      @Valid @ModelAttribute SVWithinDistanceParams params,
+      @RequestParam(defaultValue = "false") boolean slice) {
     Pageable pageable = PageRequest.of(
         page,
         size);
 
-    Page<SVCoach> stringers = coachService.getCoachesWithinDistance(params, pageable);
-    Page<SVCoachResponse> response = stringers.map(mapper::toCoachResponse);
+    Slice<SVCoach> stringers = slice
+        ? coachService.getCoachesWithinDistanceSlice(params, pageable)
+        : coachService.getCoachesWithinDistance(params, pageable);
+    Slice<SVCoachResponse> response = stringers.map(mapper::toCoachResponse);
 
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
@@ -1,11 +1,13 @@
 package com.shuttleverse.community.controller;
 
 import com.shuttleverse.community.api.SVApiResponse;
+import com.shuttleverse.community.api.SVCursorPage;
 import com.shuttleverse.community.dto.SVCourtPriceResponse;
 import com.shuttleverse.community.dto.SVCourtResponse;
 import com.shuttleverse.community.dto.SVCourtScheduleResponse;
 import com.shuttleverse.community.dto.SVEntityPriceCreationData;
 import com.shuttleverse.community.dto.SVEntityScheduleCreationData;
+import com.shuttleverse.community.dto.SVMapClusterResponse;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
 import com.shuttleverse.community.model.SVCourt;
 import com.shuttleverse.community.model.SVCourtPrice;
@@ -13,7 +15,9 @@ import com.shuttleverse.community.model.SVCourtSchedule;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.SVBoundingBoxParams;
 import com.shuttleverse.community.params.SVCourtCreationData;
+import com.shuttleverse.community.params.SVDistanceCursor;
 import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVNearestParams;
 import com.shuttleverse.community.params.SVSortParams;
 import com.shuttleverse.community.params.SVWithinDistanceParams;
 import com.shuttleverse.community.service.SVCourtService;
@@ -24,9 +28,9 @@ import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -55,44 +59,87 @@ public class SVCourtController {
   private final SVMapStructMapper mapper;
 
   @GetMapping
-  public ResponseEntity<SVApiResponse<Page<SVCourtResponse>>> getAllCourts(
+  public ResponseEntity<SVApiResponse<Slice<SVCourtResponse>>> getAllCourts(
       @ModelAttribute SVEntityFilterParams params,
       @ModelAttribute SVSortParams sortParams,
       @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "false") boolean slice) {
 
     Pageable pageable = PageRequest.of(page, size);
 
-    Page<SVCourt> courts = courtService.getAllCourts(params, sortParams, pageable);
-    Page<SVCourtResponse> response = courts.map(mapper::toCourtResponse);
+    Slice<SVCourt> courts = slice
+        ? courtService.getAllCourtsSlice(params, sortParams, pageable)
+        : courtService.getAllCourts(params, sortParams, pageable);
+    Slice<SVCourtResponse> response = courts.map(mapper::toCourtResponse);
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/scroll")
+  public ResponseEntity<SVApiResponse<SVCursorPage<SVCourtResponse>>> scrollCourts(
+      @ModelAttribute SVEntityFilterParams params,
+      @ModelAttribute SVSortParams sortParams,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+
+    SVCursorPage<SVCourt> courts = courtService.getAllCourtsByCursor(params, sortParams,
+        SVDistanceCursor.decode(cursor), size);
+    SVCursorPage<SVCourtResponse> response = courts.map(mapper::toCourtResponse);
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/nearest")
+  public ResponseEntity<SVApiResponse<List<SVCourtResponse>>> getNearestCourts(
+      @Valid @ModelAttribute SVNearestParams params) {
+    List<SVCourtResponse> response = courtService.getNearestCourts(params).stream()
+        .map(mapper::toCourtResponse)
+        .toList();
+
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
 
   @GetMapping("/bbox")
-  public ResponseEntity<SVApiResponse<Page<SVCourtResponse>>> getCourtsByBoundingBox(
+  public ResponseEntity<SVApiResponse<Slice<SVCourtResponse>>> getCourtsByBoundingBox(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @Valid @ModelAttribute SVBoundingBoxParams params) {
+      @Valid @ModelAttribute SVBoundingBoxParams params,
+      @RequestParam(defaultValue = "false") boolean slice) {
     Pageable pageable = PageRequest.of(
         page,
         size);
-    Page<SVCourt> courts = courtService.getCourtsByBoundingBox(params, pageable);
-    Page<SVCourtResponse> response = courts.map(mapper::toCourtResponse);
+    Slice<SVCourt> courts = slice
+        ? courtService.getCourtsByBoundingBoxSlice(params, pageable)
+        : courtService.getCourtsByBoundingBox(params, pageable);
+    Slice<SVCourtResponse> response = courts.map(mapper::toCourtResponse);
+
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/bbox/clusters")
+  public ResponseEntity<SVApiResponse<List<SVMapClusterResponse>>> getCourtClusters(
+      @Valid @ModelAttribute SVBoundingBoxParams params,
+      @RequestParam int zoom) {
+    List<SVMapClusterResponse> response = courtService.getCourtClusters(params, zoom).stream()
+        .map(mapper::toMapClusterResponse)
+        .toList();
 
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
 
   @GetMapping("/within")
-  public ResponseEntity<SVApiResponse<Page<SVCourtResponse>>> getCourtsByDistance(
+  public ResponseEntity<SVApiResponse<Slice<SVCourtResponse>>> getCourtsByDistance(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @Valid @ModelAttribute SVWithinDistanceParams params) {
+      @Valid @ModelAttribute SVWithinDistanceParams params,
+      @RequestParam(defaultValue = "false") boolean slice) {
     Pageable pageable = PageRequest.of(
         page,
         size);
 
-    Page<SVCourt> stringers = courtService.getCourtsWithinDistance(params, pageable);
-    Page<SVCourtResponse> response = stringers.map(mapper::toCourtResponse);
+    Slice<SVCourt> stringers = slice
+        ? courtService.getCourtsWithinDistanceSlice(params, pageable)
+        : courtService.getCourtsWithinDistance(params, pageable);
+    Slice<SVCourtResponse> response = stringers.map(mapper::toCourtResponse);
 
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
@@ -0,0 +1,27 @@
+package com.shuttleverse.community.controller;
+
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.service.SVExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class SVExportController {
+
+  private final SVExportService exportService;
+
+  @GetMapping(value = "/{entityType}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEntities(@PathVariable String entityType) {
+    SVEntityType type = SVEntityType.fromString(entityType);
+    StreamingResponseBody body = output -> exportService.exportEntities(type, output);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+}
@@ -0,0 +1,40 @@
+package com.shuttleverse.community.controller;
+
+import com.shuttleverse.community.api.SVApiResponse;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.dto.SVImportReport;
+import com.shuttleverse.community.service.SVBulkImportService;
+import com.shuttleverse.community.util.SVAuthenticationUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/import")
+@RequiredArgsConstructor
+public class SVImportController {
+
+  private final SVBulkImportService bulkImportService;
+
+  @PostMapping(value = "/{entityType}", consumes = {MediaType.APPLICATION_NDJSON_VALUE,
+      SVBulkImportService.TEXT_CSV_VALUE})
+  @PreAuthorize("@SVAuthenticationUtils.isCurrentUserAdmin()")
+  public ResponseEntity<SVApiResponse<SVImportReport>> importEntities(
+      @PathVariable String entityType, HttpServletRequest request) throws IOException {
+    if (!SVAuthenticationUtils.getCurrentUser().isAdmin()) {
+      throw new AccessDeniedException("Unauthorized to access this resource");
+    }
+    SVImportReport report = bulkImportService.importEntities(SVEntityType.fromString(entityType),
+        MediaType.parseMediaType(request.getContentType()), request.getInputStream(),
+        SVAuthenticationUtils.getCurrentUser());
+    return ResponseEntity.ok(SVApiResponse.success(report));
+  }
+}
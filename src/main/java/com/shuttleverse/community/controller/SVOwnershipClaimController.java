@@ -3,11 +3,16 @@ package com.shuttleverse.community.controller;
 import com.shuttleverse.community.api.SVApiResponse;
 import com.shuttleverse.community.constants.SVVerificationStatus;
 import com.shuttleverse.community.dto.SVOwnershipClaimResponse;
+import com.shuttleverse.community.dto.SVPresignedUploadResponse;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
 import com.shuttleverse.community.model.SVOwnershipClaim;
+import com.shuttleverse.community.params.SVClaimApprovalParams;
+import com.shuttleverse.community.params.SVClaimConfirmationData;
+import com.shuttleverse.community.params.SVClaimUploadParams;
 import com.shuttleverse.community.params.SVOwnershipClaimCreationData;
 import com.shuttleverse.community.service.SVOwnershipClaimService;
 import com.shuttleverse.community.util.SVAuthenticationUtils;
+import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +28,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -56,6 +62,19 @@ public class SVOwnershipClaimController {
     return ResponseEntity.ok(SVApiResponse.success(mapper.toOwnershipClaimResponse(claim)));
   }
 
+  @PostMapping("/uploads")
+  public ResponseEntity<SVApiResponse<List<SVPresignedUploadResponse>>> presignUploads(
+      @Valid @RequestBody SVClaimUploadParams params) {
+    return ResponseEntity.ok(SVApiResponse.success(claimService.presignUploads(params.getFiles())));
+  }
+
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<SVApiResponse<SVOwnershipClaimResponse>> confirmClaim(
+      @Valid @RequestBody SVClaimConfirmationData data) {
+    SVOwnershipClaim claim = claimService.confirmOwnershipClaim(data);
+    return ResponseEntity.ok(SVApiResponse.success(mapper.toOwnershipClaimResponse(claim)));
+  }
+
   @GetMapping("/me")
   public ResponseEntity<SVApiResponse<List<SVOwnershipClaimResponse>>> getUserClaims() {
     List<SVOwnershipClaim> claims = claimService.findAllByUserId(
@@ -80,4 +99,18 @@ public class SVOwnershipClaimController {
     SVOwnershipClaimResponse response = mapper.toOwnershipClaimResponse(updatedClaim);
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
+
+  @PutMapping("/status/approved")
+  @PreAuthorize("@SVAuthenticationUtils.isCurrentUserAdmin()")
+  public ResponseEntity<SVApiResponse<List<SVOwnershipClaimResponse>>> approveClaims(
+      @Valid @RequestBody SVClaimApprovalParams params) {
+    if (!SVAuthenticationUtils.getCurrentUser().isAdmin()) {
+      throw new AccessDeniedException("Unauthorized to access this resource");
+    }
+    List<SVOwnershipClaimResponse> response = claimService.approveClaims(params.getClaimIds())
+        .stream()
+        .map(mapper::toOwnershipClaimResponse)
+        .toList();
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
 }
@@ -1,6 +1,8 @@
 package com.shuttleverse.community.controller;
 
 import com.shuttleverse.community.api.SVApiResponse;
+import com.shuttleverse.community.api.SVCursorPage;
+import com.shuttleverse.community.dto.SVMapClusterResponse;
 import com.shuttleverse.community.dto.SVStringerPriceCreationData;
 import com.shuttleverse.community.dto.SVStringerPriceResponse;
 import com.shuttleverse.community.dto.SVStringerResponse;
@@ -9,7 +11,9 @@ import com.shuttleverse.community.model.SVStringer;
 import com.shuttleverse.community.model.SVStringerPrice;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.SVBoundingBoxParams;
+import com.shuttleverse.community.params.SVDistanceCursor;
 import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVNearestParams;
 import com.shuttleverse.community.params.SVSortParams;
 import com.shuttleverse.community.params.SVStringerCreationData;
 import com.shuttleverse.community.params.SVWithinDistanceParams;
@@ -21,9 +25,9 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -57,43 +61,86 @@ public class SVStringerController {
   }
 
   @GetMapping
-  public ResponseEntity<SVApiResponse<Page<SVStringerResponse>>> getAllStringers(
+  public ResponseEntity<SVApiResponse<Slice<SVStringerResponse>>> getAllStringers(
       @ModelAttribute SVEntityFilterParams params,
       @ModelAttribute SVSortParams sortParams,
       @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "false") boolean slice) {
     Pageable pageable = PageRequest.of(page, size);
 
-    Page<SVStringer> stringers = stringerService.getAllStringers(params, sortParams, pageable);
-    Page<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
+    Slice<SVStringer> stringers = slice
+        ? stringerService.getAllStringersSlice(params, sortParams, pageable)
+        : stringerService.getAllStringers(params, sortParams, pageable);
+    Slice<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/scroll")
+  public ResponseEntity<SVApiResponse<SVCursorPage<SVStringerResponse>>> scrollStringers(
+      @ModelAttribute SVEntityFilterParams params,
+      @ModelAttribute SVSortParams sortParams,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size) {
+
+    SVCursorPage<SVStringer> stringers = stringerService.getAllStringersByCursor(params, sortParams,
+        SVDistanceCursor.decode(cursor), size);
+    SVCursorPage<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/nearest")
+  public ResponseEntity<SVApiResponse<List<SVStringerResponse>>> getNearestStringers(
+      @Valid @ModelAttribute SVNearestParams params) {
+    List<SVStringerResponse> response = stringerService.getNearestStringers(params).stream()
+        .map(mapper::toStringerResponse)
+        .toList();
+
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
 
   @GetMapping("/bbox")
-  public ResponseEntity<SVApiResponse<Page<SVStringerResponse>>> getCourtsByBoundingBox(
+  public ResponseEntity<SVApiResponse<Slice<SVStringerResponse>>> getCourtsByBoundingBox(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @Valid @ModelAttribute SVBoundingBoxParams params) {
+      @Valid @ModelAttribute SVBoundingBoxParams params,
+      @RequestParam(defaultValue = "false") boolean slice) {
     Pageable pageable = PageRequest.of(
         page,
         size);
-    Page<SVStringer> stringers = stringerService.getCourtsByBoundingBox(params, pageable);
-    Page<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
+    Slice<SVStringer> stringers = slice
+        ? stringerService.getCourtsByBoundingBoxSlice(params, pageable)
+        : stringerService.getCourtsByBoundingBox(params, pageable);
+    Slice<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
+
+    return ResponseEntity.ok(SVApiResponse.success(response));
+  }
+
+  @GetMapping("/bbox/clusters")
+  public ResponseEntity<SVApiResponse<List<SVMapClusterResponse>>> getStringerClusters(
+      @Valid @ModelAttribute SVBoundingBoxParams params,
+      @RequestParam int zoom) {
+    List<SVMapClusterResponse> response = stringerService.getStringerClusters(params, zoom).stream()
+        .map(mapper::toMapClusterResponse)
+        .toList();
 
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
 
   @GetMapping("/within")
-  public ResponseEntity<SVApiResponse<Page<SVStringerResponse>>> getCourtsByDistance(
+  public ResponseEntity<SVApiResponse<Slice<SVStringerResponse>>> getCourtsByDistance(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @Valid @ModelAttribute SVWithinDistanceParams params) {
+      @Valid @ModelAttribute SVWithinDistanceParams params,
+      @RequestParam(defaultValue = "false") boolean slice) {
     Pageable pageable = PageRequest.of(
         page,
         size);
 
-    Page<SVStringer> stringers = stringerService.getStringersWithinDistance(params, pageable);
-    Page<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
+    Slice<SVStringer> stringers = slice
+        ? stringerService.getStringersWithinDistanceSlice(params, pageable)
+        : stringerService.getStringersWithinDistance(params, pageable);
+    Slice<SVStringerResponse> response = stringers.map(mapper::toStringerResponse);
 
     return ResponseEntity.ok(SVApiResponse.success(response));
   }
@@ -0,0 +1,34 @@
+package com.shuttleverse.community.controller;
+
+import com.shuttleverse.community.service.SVTileService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/tiles")
+@RequiredArgsConstructor
+public class SVTileController {
+
+  private static final MediaType MVT = MediaType.parseMediaType(
+      "application/vnd.mapbox-vector-tile");
+
+  private final SVTileService tileService;
+
+  @GetMapping("/{z}/{x}/{y}.mvt")
+  public ResponseEntity<byte[]> getTile(
+      @PathVariable int z,
+      @PathVariable int x,
+      @PathVariable int y) {
+    return ResponseEntity.ok()
+        .contentType(MVT)
+        .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+        .body(tileService.getTile(z, x, y));
+  }
+}
@@ -3,10 +3,14 @@ package com.shuttleverse.community.controller;
 import com.shuttleverse.community.api.SVApiResponse;
 import com.shuttleverse.community.dto.SVUpvoteResponse;
 import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.params.SVVotedLookupParams;
 import com.shuttleverse.community.params.UpvoteParams;
 import com.shuttleverse.community.service.SVUpvoteService;
 import com.shuttleverse.community.util.SVAuthenticationUtils;
+import jakarta.validation.Valid;
 import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -16,6 +20,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -43,4 +49,12 @@ public class SVUpvoteController {
       return ResponseEntity.ok(SVApiResponse.success(new PageImpl<>(Collections.emptyList())));
     }
   }
+
+  @PostMapping("/voted")
+  public ResponseEntity<SVApiResponse<Set<UUID>>> getVotedEntityIds(
+      @Valid @RequestBody SVVotedLookupParams params) {
+    SVUser user = SVAuthenticationUtils.getCurrentUser();
+    Set<UUID> voted = upvoteService.getVotedEntityIds(user, params.getEntityIds());
+    return ResponseEntity.ok(SVApiResponse.success(voted));
+  }
 }
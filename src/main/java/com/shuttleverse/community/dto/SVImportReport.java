@@ -0,0 +1,33 @@
+package com.shuttleverse.community.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class SVImportReport {
+
+  /**
+   * Upper bound of row errors included in a report; further failures are only counted.
+   */
+  public static final int MAX_REPORTED_ERRORS = 100;
+
+  private long imported;
+  private long failed;
+  private final List<SVImportError> errors = new ArrayList<>();
+
+  public void addImported(long rows) {
+    imported += rows;
+  }
+
+  public void addError(long row, String message) {
+    failed++;
+    if (errors.size() < MAX_REPORTED_ERRORS) {
+      errors.add(new SVImportError(row, message));
+    }
+  }
+
+  public record SVImportError(long row, String message) {
+
+  }
+}
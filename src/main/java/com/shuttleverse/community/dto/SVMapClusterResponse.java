@@ -0,0 +1,15 @@
+package com.shuttleverse.community.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SVMapClusterResponse {
+
+  private long count;
+  private double longitude;
+  private double latitude;
+  private UUID representativeId;
+}
@@ -0,0 +1,25 @@
+package com.shuttleverse.community.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SVPresignedUploadResponse {
+
+  private String fileName;
+
+  private String key;
+
+  private String uploadUrl;
+
+  /**
+   * Headers the PUT must carry exactly as given, since they are part of the signature.
+   */
+  private Map<String, List<String>> headers;
+
+  private Instant expiresAt;
+}
@@ -13,4 +13,6 @@ public class SVVerificationFileResponse {
     private String fileName;
 
     private String fileUrl;
+
+    private String previewUrl;
 }
@@ -1,5 +1,6 @@
 package com.shuttleverse.community.mapper;
 
+import com.shuttleverse.community.constants.SVInfoConstant;
 import com.shuttleverse.community.dto.SVCoachPriceResponse;
 import com.shuttleverse.community.dto.SVCoachResponse;
 import com.shuttleverse.community.dto.SVCoachScheduleResponse;
@@ -9,6 +10,7 @@ import com.shuttleverse.community.dto.SVCourtScheduleResponse;
 import com.shuttleverse.community.dto.SVEntityPriceCreationData;
 import com.shuttleverse.community.dto.SVEntityScheduleCreationData;
 import com.shuttleverse.community.dto.SVLocationDto;
+import com.shuttleverse.community.dto.SVMapClusterResponse;
 import com.shuttleverse.community.dto.SVOwnershipClaimResponse;
 import com.shuttleverse.community.dto.SVStringerPriceCreationData;
 import com.shuttleverse.community.dto.SVStringerPriceResponse;
@@ -29,8 +31,8 @@ import com.shuttleverse.community.model.SVVerificationFile;
 import com.shuttleverse.community.params.SVCoachCreationData;
 import com.shuttleverse.community.params.SVCourtCreationData;
 import com.shuttleverse.community.params.SVStringerCreationData;
+import com.shuttleverse.community.repository.SVMapClusterProjection;
 import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
@@ -58,8 +60,7 @@ public interface SVMapStructMapper {
     if (locationDto == null) {
       return null;
     }
-    GeometryFactory geometryFactory = new GeometryFactory();
-    return geometryFactory.createPoint(new Coordinate(
+    return SVInfoConstant.GEOMETRY_FACTORY.createPoint(new Coordinate(
         locationDto.getLongitude(),
         locationDto.getLatitude()));
   }
@@ -126,4 +127,6 @@ public interface SVMapStructMapper {
   SVOwnershipClaimResponse toOwnershipClaimResponse(SVOwnershipClaim ownershipClaim);
 
   SVVerificationFileResponse toVerificationFileResponse(SVVerificationFile verificationFile);
+
+  SVMapClusterResponse toMapClusterResponse(SVMapClusterProjection cluster);
 }
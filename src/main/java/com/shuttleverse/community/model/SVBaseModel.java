@@ -21,6 +21,12 @@ import org.locationtech.jts.geom.Point;
 @Setter
 public abstract class SVBaseModel {
 
+  /**
+   * Upper bound of lazy associations Hibernate initializes together when a list page is mapped to
+   * responses, so a page costs a fixed number of queries instead of one per row.
+   */
+  public static final int ASSOCIATION_BATCH_SIZE = 100;
+
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
   protected UUID id;
@@ -43,6 +49,13 @@ public abstract class SVBaseModel {
   @Column(name = "updated_at", nullable = false)
   protected ZonedDateTime updatedAt;
 
+  /**
+   * Maintained by in-database increments as votes arrive, see
+   * {@link com.shuttleverse.community.util.SVTrendingScore}. {@code null} until the first vote.
+   */
+  @Column(name = "trending_score", insertable = false, updatable = false)
+  protected Double trendingScore;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "owner_id")
   private SVUser owner;
@@ -1,6 +1,9 @@
 package com.shuttleverse.community.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.shuttleverse.community.cache.SVUpvoteOverlayListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @MappedSuperclass
+@EntityListeners(SVUpvoteOverlayListener.class)
 @Getter
 @Setter
 public abstract class SVBaseUpvotable implements SVUpvotable {
@@ -34,12 +38,22 @@ public abstract class SVBaseUpvotable implements SVUpvotable {
   @JoinColumn(name = "submitted_by", nullable = false)
   protected SVUser submittedBy;
 
-  @Column(name = "upvotes", nullable = false)
+  /**
+   * Only ever changed by in-database increments, never by saving the entity, so that a stale or
+   * overlaid count cannot overwrite votes recorded concurrently.
+   */
+  @Column(name = "upvotes", nullable = false, updatable = false)
   protected Integer upvotes = 0;
 
   @Column(name = "is_verified", nullable = false)
   protected Boolean isVerified = false;
 
+  /**
+   * Returns the id of the court, coach or stringer this row belongs to.
+   */
+  @JsonIgnore
+  public abstract UUID getParentId();
+
   @PrePersist
   protected void onCreate() {
     createdAt = ZonedDateTime.now();
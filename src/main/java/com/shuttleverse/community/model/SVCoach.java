@@ -14,6 +14,7 @@ import jakarta.persistence.Table;
 import java.util.List;
 import java.util.Map;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -38,11 +39,13 @@ public class SVCoach extends SVBaseModel {
   private String phoneNumber;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+  @BatchSize(size = SVBaseModel.ASSOCIATION_BATCH_SIZE)
   @JoinColumn(name = "coach_id")
   @OrderBy("upvotes DESC")
   private List<SVCoachSchedule> scheduleList;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+  @BatchSize(size = SVBaseModel.ASSOCIATION_BATCH_SIZE)
   @JoinColumn(name = "coach_id")
   @OrderBy("upvotes DESC")
   private List<SVCoachPrice> priceList;
@@ -28,4 +28,9 @@ public class SVCoachPrice extends SVBaseUpvotable {
 
   @Column(name = "duration_unit", nullable = false)
   private String durationUnit;
+
+  @Override
+  public UUID getParentId() {
+    return coachId;
+  }
 }
@@ -22,4 +22,9 @@ public class SVCoachSchedule extends SVBaseUpvotable {
 
   @Column(name = "end_time", nullable = false, length = 10)
   private String endTime;
-}
\ No newline at end of file
+
+  @Override
+  public UUID getParentId() {
+    return coachId;
+  }
+}
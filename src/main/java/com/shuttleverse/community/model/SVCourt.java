@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -36,11 +37,13 @@ public class SVCourt extends SVBaseModel {
   private Map<String, String> otherContacts;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+  @BatchSize(size = SVBaseModel.ASSOCIATION_BATCH_SIZE)
   @JoinColumn(name = "court_id")
   @OrderBy("upvotes DESC")
   private List<SVCourtSchedule> scheduleList;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+  @BatchSize(size = SVBaseModel.ASSOCIATION_BATCH_SIZE)
   @JoinColumn(name = "court_id")
   @OrderBy("upvotes DESC")
   private List<SVCourtPrice> priceList;
@@ -22,4 +22,9 @@ public class SVCourtSchedule extends SVBaseUpvotable {
 
   @Column(name = "close_time", nullable = false)
   private String closeTime;
+
+  @Override
+  public UUID getParentId() {
+    return courtId;
+  }
 }
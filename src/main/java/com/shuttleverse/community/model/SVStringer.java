@@ -14,6 +14,7 @@ import jakarta.persistence.Table;
 import java.util.List;
 import java.util.Map;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -38,6 +39,7 @@ public class SVStringer extends SVBaseModel {
   private String additionalDetails;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+  @BatchSize(size = SVBaseModel.ASSOCIATION_BATCH_SIZE)
   @JoinColumn(name = "stringer_id")
   @OrderBy("upvotes DESC")
   private List<SVStringerPrice> priceList;
@@ -19,4 +19,9 @@ public class SVStringerPrice extends SVBaseUpvotable {
 
   @Column(name = "price", nullable = false)
   private Double price;
-}
\ No newline at end of file
+
+  @Override
+  public UUID getParentId() {
+    return stringerId;
+  }
+}
@@ -9,9 +9,11 @@ import jakarta.persistence.Table;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = SVBaseModel.ASSOCIATION_BATCH_SIZE)
 @Data
 public class SVUser {
 
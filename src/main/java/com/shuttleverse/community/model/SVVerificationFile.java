@@ -1,11 +1,15 @@
 package com.shuttleverse.community.model;
 
+import com.shuttleverse.community.constants.SVPreviewStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
 import java.util.UUID;
 import lombok.Data;
 
@@ -26,4 +30,29 @@ public class SVVerificationFile {
 
   @Column(name = "file_url", nullable = false)
   private String fileUrl;
+
+  /**
+   * See {@link com.shuttleverse.community.util.SVContentHash}; {@code null} for files uploaded
+   * directly by the client.
+   */
+  @Column(name = "content_hash")
+  private String contentHash;
+
+  /**
+   * Compressed image generated by
+   * {@link com.shuttleverse.community.service.SVVerificationPreviewService}; {@code null} until it
+   * is ready and for files that are not images.
+   */
+  @Column(name = "preview_url")
+  private String previewUrl;
+
+  @Column(name = "preview_status", nullable = false)
+  @Enumerated(EnumType.STRING)
+  private SVPreviewStatus previewStatus = SVPreviewStatus.PENDING;
+
+  @Column(name = "preview_attempts", nullable = false)
+  private int previewAttempts;
+
+  @Column(name = "preview_retry_at")
+  private ZonedDateTime previewRetryAt;
 }
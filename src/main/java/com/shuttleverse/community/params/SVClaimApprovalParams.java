@@ -0,0 +1,19 @@
+package com.shuttleverse.community.params;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SVClaimApprovalParams {
+
+  @NotEmpty(message = "Missing claim ids")
+  @Size(max = 100, message = "At most 100 claims can be approved at once")
+  private List<UUID> claimIds;
+}
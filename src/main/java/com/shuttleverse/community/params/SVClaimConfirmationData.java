@@ -0,0 +1,30 @@
+package com.shuttleverse.community.params;
+
+import com.shuttleverse.community.constants.SVEntityType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SVClaimConfirmationData {
+
+  @NotNull(message = "Missing entity type")
+  private SVEntityType entityType;
+
+  @NotNull(message = "Missing entity id")
+  private UUID entityId;
+
+  private String userNotes;
+
+  @NotEmpty(message = "Missing files")
+  @Size(max = 10, message = "At most 10 files can be attached to a claim")
+  private List<@Valid SVClaimFileParams> files;
+}
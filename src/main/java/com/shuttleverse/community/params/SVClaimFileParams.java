@@ -0,0 +1,28 @@
+package com.shuttleverse.community.params;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A verification file the client is about to upload, or has uploaded under {@code key}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class SVClaimFileParams {
+
+  @NotBlank(message = "Missing file name")
+  @Size(max = 255, message = "File name must be at most 255 characters")
+  private String fileName;
+
+  private String contentType;
+
+  @Positive(message = "File size must be positive")
+  private Long size;
+
+  private String key;
+}
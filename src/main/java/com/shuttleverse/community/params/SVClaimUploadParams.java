@@ -0,0 +1,19 @@
+package com.shuttleverse.community.params;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SVClaimUploadParams {
+
+  @NotEmpty(message = "Missing files")
+  @Size(max = 10, message = "At most 10 files can be uploaded per claim")
+  private List<@Valid SVClaimFileParams> files;
+}
@@ -0,0 +1,15 @@
+package com.shuttleverse.community.params;
+
+import com.shuttleverse.community.dto.SVEntityPriceCreationData;
+import com.shuttleverse.community.dto.SVEntityScheduleCreationData;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SVCoachImportRow extends SVCoachCreationData {
+
+  private List<SVEntityScheduleCreationData> schedules;
+  private List<SVEntityPriceCreationData> prices;
+}
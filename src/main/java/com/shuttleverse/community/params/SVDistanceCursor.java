@@ -0,0 +1,43 @@
+package com.shuttleverse.community.params;
+
+import jakarta.ws.rs.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position of the last row returned by a distance-sorted list, encoded for clients as an opaque
+ * token. Rows are ordered by (distance, id) so the pair uniquely identifies where to resume.
+ */
+@Getter
+@AllArgsConstructor
+public class SVDistanceCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private double distance;
+  private UUID id;
+
+  public String encode() {
+    String raw = distance + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static SVDistanceCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separatorIndex = raw.indexOf(SEPARATOR);
+      return new SVDistanceCursor(Double.parseDouble(raw.substring(0, separatorIndex)),
+          UUID.fromString(raw.substring(separatorIndex + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.shuttleverse.community.params;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SVNearestParams {
+
+  @NotNull(message = "Missing longitude")
+  private Double longitude;
+  @NotNull(message = "Missing latitude")
+  private Double latitude;
+  @Min(value = 1, message = "k must be at least 1")
+  @Max(value = 100, message = "k must be at most 100")
+  private int k;
+
+  public SVNearestParams(Double longitude, Double latitude, Integer k) {
+    this.longitude = longitude;
+    this.latitude = latitude;
+    this.k = k != null ? k : 10;
+  }
+}
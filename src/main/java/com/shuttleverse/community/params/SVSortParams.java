@@ -18,7 +18,13 @@ public class SVSortParams {
   public SVSortParams(SVSortType sortType, SVSortDirection sortDirection, Double longitude,
       Double latitude) {
     this.sortType = sortType != null ? sortType : SVSortType.LOCATION;
-    this.sortDirection = sortDirection != null ? sortDirection : SVSortDirection.ASC;
+    if (sortDirection != null) {
+      this.sortDirection = sortDirection;
+    } else {
+      // Trending lists start with the most trending entity unless asked otherwise.
+      this.sortDirection = this.sortType == SVSortType.TRENDING ? SVSortDirection.DESC
+          : SVSortDirection.ASC;
+    }
     this.longitude = longitude != null ? longitude
         : SVInfoConstant.DEFAULT_LOCATION.getX();
     this.latitude = latitude != null ? latitude
@@ -0,0 +1,13 @@
+package com.shuttleverse.community.params;
+
+import com.shuttleverse.community.dto.SVStringerPriceCreationData;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SVStringerImportRow extends SVStringerCreationData {
+
+  private List<SVStringerPriceCreationData> prices;
+}
@@ -0,0 +1,19 @@
+package com.shuttleverse.community.params;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class SVVotedLookupParams {
+
+  @NotEmpty(message = "Missing entity ids")
+  @Size(max = 500, message = "At most 500 entity ids can be looked up at once")
+  private List<UUID> entityIds;
+}
@@ -1,18 +1,44 @@
 package com.shuttleverse.community.query;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparablePath;
 import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberTemplate;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.shuttleverse.community.api.SVCursorPage;
+import com.shuttleverse.community.constants.SVSortDirection;
 import com.shuttleverse.community.model.SVBaseModel;
+import com.shuttleverse.community.params.SVDistanceCursor;
+import com.shuttleverse.community.util.SVQueryUtils;
 import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.BadRequestException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
 import lombok.Getter;
+import org.locationtech.jts.geom.Point;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Component;
 
 @Getter
 @Component
 public class SVQueryFactory<T extends SVBaseModel> {
 
+  /**
+   * Largest window a cursor page may request, the same cap as the nearest-entity {@code k}.
+   */
+  public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
   private final JPAQueryFactory queryFactory;
 
   public SVQueryFactory(EntityManager entityManager) {
@@ -33,4 +59,103 @@ public class SVQueryFactory<T extends SVBaseModel> {
         .fetchOne();
   }
 
+  public Page<T> getPage(JPAQuery<T> query, Pageable pageable, LongSupplier totalSupplier) {
+    return PageableExecutionUtils.getPage(
+        query.offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .fetch(),
+        pageable,
+        totalSupplier);
+  }
+
+  /**
+   * Fetches one row past the requested page to tell whether another page exists, so no count query
+   * is needed.
+   */
+  public Slice<T> getSlice(JPAQuery<T> query, Pageable pageable) {
+    List<T> rows = query.offset(pageable.getOffset())
+        .limit(pageable.getPageSize() + 1L)
+        .fetch();
+
+    boolean hasNext = rows.size() > pageable.getPageSize();
+    List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  /**
+   * Hydrates one page of an already ordered id list, e.g. from the in-memory spatial index,
+   * keeping the order of {@code ids}.
+   */
+  public Page<T> getPageByIds(EntityPathBase<T> model, ComparablePath<UUID> id, List<UUID> ids,
+      Pageable pageable) {
+    return new PageImpl<>(fetchByIds(model, id, pageIds(ids, pageable)), pageable, ids.size());
+  }
+
+  public Slice<T> getSliceByIds(EntityPathBase<T> model, ComparablePath<UUID> id, List<UUID> ids,
+      Pageable pageable) {
+    boolean hasNext = pageable.getOffset() + pageable.getPageSize() < ids.size();
+    return new SliceImpl<>(fetchByIds(model, id, pageIds(ids, pageable)), pageable, hasNext);
+  }
+
+  private List<UUID> pageIds(List<UUID> ids, Pageable pageable) {
+    int from = (int) Math.min(pageable.getOffset(), ids.size());
+    int to = Math.min(from + pageable.getPageSize(), ids.size());
+    return ids.subList(from, to);
+  }
+
+  private List<T> fetchByIds(EntityPathBase<T> model, ComparablePath<UUID> id, List<UUID> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    Map<UUID, T> rows = new HashMap<>();
+    for (T row : queryFactory.selectFrom(model).where(id.in(ids)).fetch()) {
+      rows.put(row.getId(), row);
+    }
+    return ids.stream().map(rows::get).filter(Objects::nonNull).toList();
+  }
+
+  /**
+   * Fetches the next {@code size} rows ordered by distance from {@code location}, resuming after
+   * {@code cursor} when one is given. Seeks directly to the cursor position instead of using an
+   * offset, so every window costs the same regardless of how far the client has scrolled.
+   */
+  public SVCursorPage<T> getDistanceCursorPage(
+      EntityPathBase<T> model, ComparablePath<UUID> id, ComparablePath<Point> locationPoint,
+      BooleanExpression predicate, Point location, SVSortDirection sortDirection,
+      SVDistanceCursor cursor, int size) {
+    if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+      throw new BadRequestException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+    }
+
+    NumberTemplate<Double> distance = SVQueryUtils.distance(locationPoint, location);
+
+    BooleanExpression keysetPredicate = predicate.and(locationPoint.isNotNull());
+    if (cursor != null) {
+      keysetPredicate = keysetPredicate.and(
+          SVQueryUtils.afterDistanceCursor(distance, id, cursor, sortDirection));
+    }
+
+    List<Tuple> rows = queryFactory
+        .select(model, distance)
+        .from(model)
+        .where(keysetPredicate)
+        .orderBy(SVQueryUtils.orderByDistance(locationPoint, location, sortDirection),
+            sortDirection == SVSortDirection.ASC ? id.asc() : id.desc())
+        .limit(size + 1L)
+        .fetch();
+
+    boolean hasNext = rows.size() > size;
+    List<Tuple> window = hasNext ? rows.subList(0, size) : rows;
+    List<T> content = window.stream().map(row -> row.get(model)).toList();
+
+    String nextCursor = null;
+    if (hasNext) {
+      Tuple last = window.get(window.size() - 1);
+      nextCursor = new SVDistanceCursor(last.get(distance), last.get(model).getId()).encode();
+    }
+
+    return new SVCursorPage<>(content, size, nextCursor, hasNext);
+  }
+
 }
@@ -4,8 +4,13 @@ import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.model.SVBaseModel;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 
+@NoRepositoryBean
 public interface SVBaseRepository<T extends SVBaseModel> extends
     JpaRepository<T, UUID>,
     QuerydslPredicateExecutor<T> {
@@ -13,4 +18,14 @@ public interface SVBaseRepository<T extends SVBaseModel> extends
   default SVEntityType getEntityType() {
     return null;
   }
+
+  /**
+   * Folds a log-space vote weight into the trending score with a numerically stable
+   * log-add-exp.
+   */
+  @Modifying
+  @Query("UPDATE #{#entityName} e SET e.trendingScore = CASE WHEN e.trendingScore IS NULL "
+      + "THEN :weight ELSE greatest(e.trendingScore, :weight) "
+      + "+ ln(1 + exp(-abs(e.trendingScore - :weight))) END WHERE e.id = :id")
+  int addTrendingWeight(@Param("id") UUID id, @Param("weight") double weight);
 }
@@ -3,8 +3,12 @@ package com.shuttleverse.community.repository;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.model.SVCoachPrice;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SVCoachPriceRepository extends SVUpvotableRepository<SVCoachPrice> {
 
@@ -21,4 +25,8 @@ public interface SVCoachPriceRepository extends SVUpvotableRepository<SVCoachPri
   List<SVCoachPrice> findAllByCoachId(UUID coachId);
 
   void deleteAllByCoachId(UUID coachId);
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE SVCoachPrice p SET p.isVerified = true WHERE p.coachId IN :coachIds")
+  int setVerifiedByCoachIdIn(@Param("coachIds") Collection<UUID> coachIds);
 }
@@ -3,8 +3,12 @@ package com.shuttleverse.community.repository;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.model.SVCoachSchedule;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -23,4 +27,8 @@ public interface SVCoachScheduleRepository extends SVUpvotableRepository<SVCoach
   List<SVCoachSchedule> findAllByCoachId(UUID coachId);
 
   void deleteAllByCoachId(UUID coachId);
-}
\ No newline at end of file
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE SVCoachSchedule s SET s.isVerified = true WHERE s.coachId IN :coachIds")
+  int setVerifiedByCoachIdIn(@Param("coachIds") Collection<UUID> coachIds);
+}
@@ -3,8 +3,12 @@ package com.shuttleverse.community.repository;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.model.SVCourtPrice;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -23,4 +27,8 @@ public interface SVCourtPriceRepository extends SVUpvotableRepository<SVCourtPri
   List<SVCourtPrice> findAllByCourtId(UUID courtId);
 
   void deleteAllByCourtId(UUID courtId);
-}
\ No newline at end of file
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE SVCourtPrice p SET p.isVerified = true WHERE p.courtId IN :courtIds")
+  int setVerifiedByCourtIdIn(@Param("courtIds") Collection<UUID> courtIds);
+}
@@ -2,9 +2,11 @@ package com.shuttleverse.community.repository;
 
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.model.SVCourt;
+import java.util.List;
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,15 +14,34 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SVCourtRepository extends SVBaseRepository<SVCourt> {
 
+  String WITHIN_BOUNDS_PREDICATE = """
+      WHERE location_point && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
+        AND ST_Within(
+            location_point,
+            ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
+        )
+      """;
+
+  String WITHIN_BOUNDS_QUERY = "SELECT * FROM public.court " + WITHIN_BOUNDS_PREDICATE;
+
+  String WITHIN_DISTANCE_QUERY = """
+      SELECT c.* FROM public.court c
+      WHERE ST_DWithin(
+        c.location_point,
+        :location,
+        :distance
+      )
+      ORDER BY c.location_point <-> :location
+      """;
+
   @Override
   default SVEntityType getEntityType() {
     return SVEntityType.COURT;
   }
 
   @Query(value = """
-      SELECT c.* , ST_Distance(c.location_point, :location) AS distance
-      FROM public.court c
-      ORDER BY distance
+      SELECT c.* FROM public.court c
+      ORDER BY c.location_point <-> :location
       """,
       countQuery = """
           SELECT COUNT(*) FROM public.court
@@ -30,20 +51,8 @@ public interface SVCourtRepository extends SVBaseRepository<SVCourt> {
       @Param("location") Point location,
       Pageable pageable);
 
-  @Query(value = """
-      SELECT c.* FROM public.court c
-      WHERE ST_Within(
-            ST_SetSRID(c.location_point, 4326),
-            ST_SetSRID(ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat), 4326)
-      )
-      """,
-      countQuery = """
-          SELECT COUNT(*) FROM public.court
-          WHERE ST_Within(
-            ST_SetSRID(location_point, 4326),
-            ST_SetSRID(ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat), 4326)
-          )
-          """,
+  @Query(value = WITHIN_BOUNDS_QUERY,
+      countQuery = "SELECT COUNT(*) FROM public.court " + WITHIN_BOUNDS_PREDICATE,
       nativeQuery = true)
   Page<SVCourt> findWithinBounds(
       @Param("minLon") double minLon,
@@ -52,6 +61,14 @@ public interface SVCourtRepository extends SVBaseRepository<SVCourt> {
       @Param("maxLat") double maxLat,
       Pageable pageable);
 
+  @Query(value = WITHIN_BOUNDS_QUERY, nativeQuery = true)
+  Slice<SVCourt> findSliceWithinBounds(
+      @Param("minLon") double minLon,
+      @Param("minLat") double minLat,
+      @Param("maxLon") double maxLon,
+      @Param("maxLat") double maxLat,
+      Pageable pageable);
+
   /**
    * Returns a paginated list of Courts within the given distance at a given location.
    *
@@ -59,16 +76,7 @@ public interface SVCourtRepository extends SVBaseRepository<SVCourt> {
    * @param distance the distance radius in meters
    * @return the list of courts within distance of the given location
    **/
-  @Query(value = """
-      SELECT c.* , ST_Distance(c.location_point, :location) AS distance
-      FROM public.court c
-      WHERE ST_DWithin(
-        c.location_point,
-        :location,
-        :distance
-      )
-      ORDER BY distance
-      """,
+  @Query(value = WITHIN_DISTANCE_QUERY,
       countQuery = """
           SELECT COUNT(*) FROM public.court
           WHERE ST_DWithin(
@@ -82,4 +90,72 @@ public interface SVCourtRepository extends SVBaseRepository<SVCourt> {
       @Param("location") Point location,
       @Param("distance") int distance,
       Pageable pageable);
-}
\ No newline at end of file
+
+  @Query(value = WITHIN_DISTANCE_QUERY, nativeQuery = true)
+  Slice<SVCourt> findSliceWithinDistance(
+      @Param("location") Point location,
+      @Param("distance") int distance,
+      Pageable pageable);
+
+  @Query(value = """
+      SELECT id, ST_X(location_point) AS "longitude", ST_Y(location_point) AS "latitude"
+      FROM public.court
+      """ + WITHIN_BOUNDS_PREDICATE + "ORDER BY id",
+      nativeQuery = true)
+  List<SVLocationProjection> findLocationsWithinBounds(
+      @Param("minLon") double minLon,
+      @Param("minLat") double minLat,
+      @Param("maxLon") double maxLon,
+      @Param("maxLat") double maxLat);
+
+  @Query(value = """
+      SELECT c.id, ST_X(c.location_point) AS "longitude",
+             ST_Y(c.location_point) AS "latitude"
+      FROM public.court c
+      WHERE ST_DWithin(c.location_point, :location, :distance)
+      ORDER BY c.location_point <-> :location, c.id
+      """,
+      nativeQuery = true)
+  List<SVLocationProjection> findLocationsWithinDistance(
+      @Param("location") Point location,
+      @Param("distance") int distance);
+
+  /**
+   * Returns the courts closest to the given location, nearest first.
+   *
+   * @param location the location to query for
+   * @param limit    the maximum number of courts to return
+   * @return up to {@code limit} courts ordered by distance
+   **/
+  @Query(value = """
+      SELECT c.* FROM public.court c
+      WHERE c.location_point IS NOT NULL
+      ORDER BY c.location_point <-> :location
+      LIMIT :limit
+      """,
+      nativeQuery = true)
+  List<SVCourt> findNearest(
+      @Param("location") Point location,
+      @Param("limit") int limit);
+
+  /**
+   * Aggregates the courts inside the bounding box into grid cells of {@code cellSize}
+   * degrees, returning one row per non-empty cell.
+   **/
+  @Query(value = """
+      SELECT COUNT(*) AS "count",
+             AVG(ST_X(location_point)) AS "longitude",
+             AVG(ST_Y(location_point)) AS "latitude",
+             (ARRAY_AGG(id))[1] AS "representativeId"
+      FROM public.court
+      """ + WITHIN_BOUNDS_PREDICATE + """
+      GROUP BY ST_SnapToGrid(location_point, :cellSize)
+      """,
+      nativeQuery = true)
+  List<SVMapClusterProjection> findClustersWithinBounds(
+      @Param("minLon") double minLon,
+      @Param("minLat") double minLat,
+      @Param("maxLon") double maxLon,
+      @Param("maxLat") double maxLat,
+      @Param("cellSize") double cellSize);
+}
@@ -0,0 +1,12 @@
+package com.shuttleverse.community.repository;
+
+import java.util.UUID;
+
+public interface SVLocationProjection {
+
+  UUID getId();
+
+  double getLongitude();
+
+  double getLatitude();
+}
@@ -0,0 +1,14 @@
+package com.shuttleverse.community.repository;
+
+import java.util.UUID;
+
+public interface SVMapClusterProjection {
+
+  long getCount();
+
+  double getLongitude();
+
+  double getLatitude();
+
+  UUID getRepresentativeId();
+}
@@ -1,6 +1,7 @@
 package com.shuttleverse.community.repository;
 
 import com.shuttleverse.community.model.SVOwnershipClaim;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -36,4 +37,10 @@ public interface SVOwnershipClaimRepository extends JpaRepository<SVOwnershipCla
       "LEFT JOIN FETCH c.files " +
       "WHERE c.id = :claimId")
   SVOwnershipClaim findByIdWithCreatorAndFiles(UUID claimId);
-}
\ No newline at end of file
+
+  @Query("SELECT DISTINCT c FROM SVOwnershipClaim c " +
+      "LEFT JOIN FETCH c.creator " +
+      "LEFT JOIN FETCH c.files " +
+      "WHERE c.id IN :claimIds")
+  List<SVOwnershipClaim> findAllByIdWithCreatorAndFiles(Collection<UUID> claimIds);
+}
@@ -3,8 +3,12 @@ package com.shuttleverse.community.repository;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.model.SVStringerPrice;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -23,4 +27,8 @@ public interface SVStringerPriceRepository extends SVUpvotableRepository<SVStrin
   List<SVStringerPrice> findAllByStringerId(UUID stringerId);
 
   void deleteAllByStringerId(UUID stringerId);
-}
\ No newline at end of file
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE SVStringerPrice p SET p.isVerified = true WHERE p.stringerId IN :stringerIds")
+  int setVerifiedByStringerIdIn(@Param("stringerIds") Collection<UUID> stringerIds);
+}
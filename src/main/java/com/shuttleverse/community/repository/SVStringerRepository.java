@@ -2,9 +2,11 @@ package com.shuttleverse.community.repository;
 
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.model.SVStringer;
+import java.util.List;
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,15 +14,34 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SVStringerRepository extends SVBaseRepository<SVStringer> {
 
+  String WITHIN_BOUNDS_PREDICATE = """
+      WHERE location_point && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
+        AND ST_Within(
+            location_point,
+            ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
+        )
+      """;
+
+  String WITHIN_BOUNDS_QUERY = "SELECT * FROM public.stringer " + WITHIN_BOUNDS_PREDICATE;
+
+  String WITHIN_DISTANCE_QUERY = """
+      SELECT s.* FROM public.stringer s
+      WHERE ST_DWithin(
+        s.location_point,
+        :location,
+        :distance
+      )
+      ORDER BY s.location_point <-> :location
+      """;
+
   @Override
   default SVEntityType getEntityType() {
     return SVEntityType.STRINGER;
   }
 
   @Query(value = """
-      SELECT s.* , ST_Distance(s.location_point, :location) AS distance
-      FROM public.stringer s
-      ORDER BY distance
+      SELECT s.* FROM public.stringer s
+      ORDER BY s.location_point <-> :location
       """,
       countQuery = """
           SELECT COUNT(*) FROM public.stringer
@@ -30,20 +51,8 @@ public interface SVStringerRepository extends SVBaseRepository<SVStringer> {
       @Param("location") Point location,
       Pageable pageable);
 
-  @Query(value = """
-      SELECT s.* FROM public.stringer s
-      WHERE ST_Within(
-            ST_SetSRID(location_point, 4326),
-            ST_SetSRID(ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat), 4326)
-      )
-      """,
-      countQuery = """
-          SELECT COUNT(*) FROM public.stringer
-          WHERE ST_Within(
-            ST_SetSRID(location_point, 4326),
-            ST_SetSRID(ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat), 4326)
-          )
-          """,
+  @Query(value = WITHIN_BOUNDS_QUERY,
+      countQuery = "SELECT COUNT(*) FROM public.stringer " + WITHIN_BOUNDS_PREDICATE,
       nativeQuery = true)
   Page<SVStringer> findWithinBounds(
       @Param("minLon") double minLon,
@@ -52,6 +61,14 @@ public interface SVStringerRepository extends SVBaseRepository<SVStringer> {
       @Param("maxLat") double maxLat,
       Pageable pageable);
 
+  @Query(value = WITHIN_BOUNDS_QUERY, nativeQuery = true)
+  Slice<SVStringer> findSliceWithinBounds(
+      @Param("minLon") double minLon,
+      @Param("minLat") double minLat,
+      @Param("maxLon") double maxLon,
+      @Param("maxLat") double maxLat,
+      Pageable pageable);
+
   /**
    * Returns a paginated list of Courts within the given distance at a given location.
    *
@@ -59,14 +76,7 @@ public interface SVStringerRepository extends SVBaseRepository<SVStringer> {
    * @param distance the distance radius in meters
    * @return the list of stringers within distance of the given location
    **/
-  @Query(value = """ 
-      SELECT s.* FROM public.court s
-      WHERE ST_DWithin(
-        s.location_point,
-        :location,
-        :distance
-      )
-      """,
+  @Query(value = WITHIN_DISTANCE_QUERY,
       countQuery = """
           SELECT COUNT(*) FROM public.stringer
           WHERE ST_DWithin(
@@ -80,4 +90,72 @@ public interface SVStringerRepository extends SVBaseRepository<SVStringer> {
       @Param("location") Point location,
       @Param("distance") int distance,
       Pageable pageable);
-}
\ No newline at end of file
+
+  @Query(value = WITHIN_DISTANCE_QUERY, nativeQuery = true)
+  Slice<SVStringer> findSliceWithinDistance(
+      @Param("location") Point location,
+      @Param("distance") int distance,
+      Pageable pageable);
+
+  @Query(value = """
+      SELECT id, ST_X(location_point) AS "longitude", ST_Y(location_point) AS "latitude"
+      FROM public.stringer
+      """ + WITHIN_BOUNDS_PREDICATE + "ORDER BY id",
+      nativeQuery = true)
+  List<SVLocationProjection> findLocationsWithinBounds(
+      @Param("minLon") double minLon,
+      @Param("minLat") double minLat,
+      @Param("maxLon") double maxLon,
+      @Param("maxLat") double maxLat);
+
+  @Query(value = """
+      SELECT s.id, ST_X(s.location_point) AS "longitude",
+             ST_Y(s.location_point) AS "latitude"
+      FROM public.stringer s
+      WHERE ST_DWithin(s.location_point, :location, :distance)
+      ORDER BY s.location_point <-> :location, s.id
+      """,
+      nativeQuery = true)
+  List<SVLocationProjection> findLocationsWithinDistance(
+      @Param("location") Point location,
+      @Param("distance") int distance);
+
+  /**
+   * Returns the stringers closest to the given location, nearest first.
+   *
+   * @param location the location to query for
+   * @param limit    the maximum number of stringers to return
+   * @return up to {@code limit} stringers ordered by distance
+   **/
+  @Query(value = """
+      SELECT s.* FROM public.stringer s
+      WHERE s.location_point IS NOT NULL
+      ORDER BY s.location_point <-> :location
+      LIMIT :limit
+      """,
+      nativeQuery = true)
+  List<SVStringer> findNearest(
+      @Param("location") Point location,
+      @Param("limit") int limit);
+
+  /**
+   * Aggregates the stringers inside the bounding box into grid cells of {@code cellSize}
+   * degrees, returning one row per non-empty cell.
+   **/
+  @Query(value = """
+      SELECT COUNT(*) AS "count",
+             AVG(ST_X(location_point)) AS "longitude",
+             AVG(ST_Y(location_point)) AS "latitude",
+             (ARRAY_AGG(id))[1] AS "representativeId"
+      FROM public.stringer
+      """ + WITHIN_BOUNDS_PREDICATE + """
+      GROUP BY ST_SnapToGrid(location_point, :cellSize)
+      """,
+      nativeQuery = true)
+  List<SVMapClusterProjection> findClustersWithinBounds(
+      @Param("minLon") double minLon,
+      @Param("minLat") double minLat,
+      @Param("maxLon") double maxLon,
+      @Param("maxLat") double maxLat,
+      @Param("cellSize") double cellSize);
+}
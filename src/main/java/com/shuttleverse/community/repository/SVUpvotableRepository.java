@@ -3,13 +3,23 @@ package com.shuttleverse.community.repository;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.model.SVBaseUpvotable;
+import java.util.Collection;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 
+@NoRepositoryBean
 public interface SVUpvotableRepository<T extends SVBaseUpvotable> extends JpaRepository<T, UUID>,
     QuerydslPredicateExecutor<T> {
 
+  String RECOUNT_UPVOTES = "UPDATE #{#entityName} e "
+      + "SET e.upvotes = (SELECT COUNT(u) FROM SVUpvote u WHERE u.entityId = e.id) "
+      + "WHERE e.upvotes <> (SELECT COUNT(u) FROM SVUpvote u WHERE u.entityId = e.id)";
+
   default SVEntityType getEntityType() {
     return null;
   }
@@ -17,4 +27,19 @@ public interface SVUpvotableRepository<T extends SVBaseUpvotable> extends JpaRep
   default SVInfoType getInfoType() {
     return null;
   }
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE #{#entityName} e SET e.upvotes = e.upvotes + :delta WHERE e.id = :id")
+  int addUpvotes(@Param("id") UUID id, @Param("delta") int delta);
+
+  /**
+   * Sets every counter that differs from the number of vote rows for the entity to that number.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(RECOUNT_UPVOTES)
+  int recountUpvotes();
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(RECOUNT_UPVOTES + " AND e.id NOT IN :excludedIds")
+  int recountUpvotes(@Param("excludedIds") Collection<UUID> excludedIds);
 }
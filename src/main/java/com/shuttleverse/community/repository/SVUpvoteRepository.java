@@ -2,10 +2,16 @@ package com.shuttleverse.community.repository;
 
 import com.shuttleverse.community.model.SVUpvote;
 import com.shuttleverse.community.model.SVUser;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 
 public interface SVUpvoteRepository extends JpaRepository<SVUpvote, UUID>,
     QuerydslPredicateExecutor<SVUpvote> {
@@ -13,4 +19,39 @@ public interface SVUpvoteRepository extends JpaRepository<SVUpvote, UUID>,
   Optional<SVUpvote> findByUpvoteCreatorAndEntityId(SVUser upvoteCreator, UUID entityId);
 
   void deleteByEntityId(UUID entityId);
+
+  @Modifying
+  @Query("DELETE FROM SVUpvote u WHERE u.entityId IN :entityIds")
+  int deleteAllByEntityIdIn(@Param("entityIds") Collection<UUID> entityIds);
+
+  @Query("SELECT u.entityId FROM SVUpvote u WHERE u.upvoteCreator.id = :userId "
+      + "AND u.entityId IN :entityIds")
+  List<UUID> findVotedEntityIds(@Param("userId") UUID userId,
+      @Param("entityIds") Collection<UUID> entityIds);
+
+  @Query("SELECT DISTINCT u.upvoteCreator.id FROM SVUpvote u WHERE u.entityId IN :entityIds")
+  List<UUID> findVoterIds(@Param("entityIds") Collection<UUID> entityIds);
+
+  @Query("SELECT u.entityId FROM SVUpvote u WHERE u.upvoteCreator.id = :userId")
+  List<UUID> findAllVotedEntityIds(@Param("userId") UUID userId, Pageable pageable);
+
+  /**
+   * Records a vote unless the user already voted for the entity. Relies on the unique
+   * (user_id, entity_id) index rather than a prior lookup, so concurrent duplicates cannot slip
+   * through.
+   *
+   * @return 1 if the vote was recorded, 0 if it already existed
+   **/
+  @Modifying
+  @Query(value = """
+      INSERT INTO public.upvote (entity_type, info_type, user_id, entity_id, created_at)
+      VALUES (:entityType, :infoType, :userId, :entityId, now())
+      ON CONFLICT (user_id, entity_id) DO NOTHING
+      """,
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("entityType") String entityType,
+      @Param("infoType") String infoType,
+      @Param("userId") UUID userId,
+      @Param("entityId") UUID entityId);
 }
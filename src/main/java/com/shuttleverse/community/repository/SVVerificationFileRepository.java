@@ -1,9 +1,56 @@
 package com.shuttleverse.community.repository;
 
+import com.shuttleverse.community.constants.SVPreviewStatus;
 import com.shuttleverse.community.model.SVVerificationFile;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SVVerificationFileRepository extends JpaRepository<SVVerificationFile, UUID> {
 
+  @Query("SELECT f FROM SVVerificationFile f WHERE f.contentHash IN :contentHashes "
+      + "AND f.claimId IN (SELECT c.id FROM SVOwnershipClaim c WHERE c.creator.id = :creatorId)")
+  List<SVVerificationFile> findAllByCreatorIdAndContentHashIn(@Param("creatorId") UUID creatorId,
+      @Param("contentHashes") Collection<String> contentHashes);
+
+  Optional<SVVerificationFile> findFirstByFileUrlAndPreviewStatus(String fileUrl,
+      SVPreviewStatus previewStatus);
+
+  @Query("SELECT f.id FROM SVVerificationFile f WHERE f.previewStatus IN :statuses "
+      + "AND (f.previewRetryAt IS NULL OR f.previewRetryAt <= :now) "
+      + "ORDER BY f.previewRetryAt NULLS FIRST")
+  List<UUID> findDueIdsByPreviewStatusIn(
+      @Param("statuses") Collection<SVPreviewStatus> statuses, @Param("now") ZonedDateTime now,
+      Pageable pageable);
+
+  /**
+   * Moves the file to {@code status} until {@code until}, provided it is due in one of
+   * {@code statuses}. Returns 0 if it is not, e.g. because another worker leased it first.
+   */
+  @Modifying
+  @Query("UPDATE SVVerificationFile f SET f.previewStatus = :status, f.previewRetryAt = :until "
+      + "WHERE f.id = :id AND f.previewStatus IN :statuses "
+      + "AND (f.previewRetryAt IS NULL OR f.previewRetryAt <= :now)")
+  int leasePreview(@Param("id") UUID id, @Param("statuses") Collection<SVPreviewStatus> statuses,
+      @Param("now") ZonedDateTime now, @Param("status") SVPreviewStatus status,
+      @Param("until") ZonedDateTime until);
+
+  @Modifying
+  @Query("UPDATE SVVerificationFile f SET f.previewStatus = :status, f.previewUrl = :previewUrl "
+      + "WHERE f.id = :id")
+  int updatePreview(@Param("id") UUID id, @Param("status") SVPreviewStatus status,
+      @Param("previewUrl") String previewUrl);
+
+  @Modifying
+  @Query("UPDATE SVVerificationFile f SET f.previewStatus = :status, "
+      + "f.previewAttempts = f.previewAttempts + 1, f.previewRetryAt = :retryAt WHERE f.id = :id")
+  int recordPreviewFailure(@Param("id") UUID id, @Param("status") SVPreviewStatus status,
+      @Param("retryAt") ZonedDateTime retryAt);
 }
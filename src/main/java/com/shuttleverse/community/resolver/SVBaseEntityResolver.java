@@ -3,8 +3,13 @@ package com.shuttleverse.community.resolver;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.model.SVBaseModel;
 import com.shuttleverse.community.repository.SVBaseRepository;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -29,7 +34,35 @@ public class SVBaseEntityResolver {
   }
 
   public SVBaseModel findById(UUID id, SVEntityType entityType) {
-    return this.repositories.get(entityType).findById(id).orElse(null);
+    return getRepository(entityType).findById(id).orElse(null);
+  }
+
+  public SVBaseRepository<? extends SVBaseModel> getRepository(SVEntityType entityType) {
+    return this.repositories.get(entityType);
+  }
+
+  /**
+   * Resolves the entities referenced by {@code references} with one {@code IN} query per entity
+   * type. The result is aligned with {@code references}; references whose entity no longer exists
+   * resolve to {@code null}.
+   */
+  public <T> List<SVBaseModel> findAllById(List<T> references, Function<T, UUID> idOf,
+      Function<T, SVEntityType> entityTypeOf) {
+    Map<SVEntityType, Set<UUID>> idsByType = new EnumMap<>(SVEntityType.class);
+    for (T reference : references) {
+      idsByType.computeIfAbsent(entityTypeOf.apply(reference), key -> new HashSet<>())
+          .add(idOf.apply(reference));
+    }
+
+    Map<UUID, SVBaseModel> entities = new HashMap<>();
+    idsByType.forEach((entityType, ids) -> this.repositories.get(entityType).findAllById(ids)
+        .forEach(entity -> entities.put(entity.getId(), entity)));
+
+    List<SVBaseModel> result = new ArrayList<>(references.size());
+    for (T reference : references) {
+      result.add(entities.get(idOf.apply(reference)));
+    }
+    return result;
   }
 
 }
\ No newline at end of file
@@ -4,8 +4,13 @@ import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.model.SVBaseUpvotable;
 import com.shuttleverse.community.repository.SVUpvotableRepository;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -33,7 +38,45 @@ public class SVUpvotableEntityResolver {
   }
 
   public SVBaseUpvotable findById(UUID id, SVEntityType entityType, SVInfoType infoType) {
-    return this.repositories.get(entityType).get(infoType).findById(id).orElse(null);
+    return getRepository(entityType, infoType).findById(id).orElse(null);
+  }
+
+  /**
+   * Resolves the upvotables referenced by {@code references} with one {@code IN} query per
+   * (entity type, info type) pair. The result is aligned with {@code references}; references whose
+   * entity no longer exists resolve to {@code null}.
+   */
+  public <T> List<SVBaseUpvotable> findAllById(List<T> references, Function<T, UUID> idOf,
+      Function<T, SVEntityType> entityTypeOf, Function<T, SVInfoType> infoTypeOf) {
+    Map<SVEntityType, Map<SVInfoType, Set<UUID>>> idsByType = new EnumMap<>(SVEntityType.class);
+    for (T reference : references) {
+      idsByType.computeIfAbsent(entityTypeOf.apply(reference),
+              key -> new EnumMap<>(SVInfoType.class))
+          .computeIfAbsent(infoTypeOf.apply(reference), key -> new HashSet<>())
+          .add(idOf.apply(reference));
+    }
+
+    Map<UUID, SVBaseUpvotable> entities = new HashMap<>();
+    idsByType.forEach((entityType, byInfoType) -> byInfoType.forEach((infoType, ids) ->
+        getRepository(entityType, infoType).findAllById(ids)
+            .forEach(entity -> entities.put(entity.getId(), entity))));
+
+    List<SVBaseUpvotable> result = new ArrayList<>(references.size());
+    for (T reference : references) {
+      result.add(entities.get(idOf.apply(reference)));
+    }
+    return result;
+  }
+
+  public SVUpvotableRepository<? extends SVBaseUpvotable> getRepository(SVEntityType entityType,
+      SVInfoType infoType) {
+    return this.repositories.get(entityType).get(infoType);
+  }
+
+  public List<SVUpvotableRepository<? extends SVBaseUpvotable>> getRepositories() {
+    return this.repositories.values().stream()
+        .flatMap(byInfoType -> byInfoType.values().stream())
+        .toList();
   }
 
 }
@@ -0,0 +1,431 @@
+package com.shuttleverse.community.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.shuttleverse.community.cache.SVGeoQueryCache;
+import com.shuttleverse.community.cache.SVSpatialIndex;
+import com.shuttleverse.community.cache.SVTileCache;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.dto.SVEntityDto;
+import com.shuttleverse.community.dto.SVEntityPriceCreationData;
+import com.shuttleverse.community.dto.SVEntityScheduleCreationData;
+import com.shuttleverse.community.dto.SVImportReport;
+import com.shuttleverse.community.dto.SVStringerPriceCreationData;
+import com.shuttleverse.community.mapper.SVMapStructMapper;
+import com.shuttleverse.community.model.SVBaseModel;
+import com.shuttleverse.community.model.SVBaseUpvotable;
+import com.shuttleverse.community.model.SVCoach;
+import com.shuttleverse.community.model.SVCoachPrice;
+import com.shuttleverse.community.model.SVCoachSchedule;
+import com.shuttleverse.community.model.SVCourt;
+import com.shuttleverse.community.model.SVCourtPrice;
+import com.shuttleverse.community.model.SVCourtSchedule;
+import com.shuttleverse.community.model.SVStringer;
+import com.shuttleverse.community.model.SVStringerPrice;
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.params.SVCoachImportRow;
+import com.shuttleverse.community.params.SVCourtImportRow;
+import com.shuttleverse.community.params.SVStringerImportRow;
+import com.shuttleverse.community.util.SVCsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.BadRequestException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams courts, coaches or stringers together with their schedules and prices from NDJSON or
+ * CSV. Rows are parsed and validated one at a time and written in chunks of {@link #CHUNK_SIZE},
+ * each in its own transaction and flushed as JDBC batches, so memory use does not depend on the
+ * size of the upload.
+ *
+ * <p>A row that fails to parse or validate is reported and skipped. If a chunk fails in the
+ * database, its rows are retried one by one so that only the offending rows are reported. Input
+ * that cannot be read any further, such as an unterminated quoted CSV field, ends the import with
+ * an error at that row, keeping the rows before it.
+ *
+ * <p>CSV input starts with a header row. The {@code longitude} and {@code latitude} columns form
+ * the location, and the {@code schedules}, {@code prices} and {@code otherContacts} columns hold
+ * JSON, the same shapes as in NDJSON rows.
+ */
+@Slf4j
+@Service
+public class SVBulkImportService {
+
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  static final int CHUNK_SIZE = 1000;
+
+  private static final Set<String> JSON_COLUMNS = Set.of("schedules", "prices", "otherContacts");
+
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final SVMapStructMapper mapper;
+  private final SVTileCache tileCache;
+  private final SVGeoQueryCache geoQueryCache;
+  private final SVSpatialIndex spatialIndex;
+
+  public SVBulkImportService(EntityManager entityManager,
+      PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+      SVMapStructMapper mapper, SVTileCache tileCache, SVGeoQueryCache geoQueryCache,
+      SVSpatialIndex spatialIndex) {
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.mapper = mapper;
+    this.tileCache = tileCache;
+    this.geoQueryCache = geoQueryCache;
+    this.spatialIndex = spatialIndex;
+  }
+
+  public SVImportReport importEntities(SVEntityType entityType, MediaType format,
+      InputStream input, SVUser creator) throws IOException {
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(input, StandardCharsets.UTF_8));
+    RowSource source = format.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+        ? ndjsonRows(reader) : csvRows(reader);
+
+    SVImportReport report = new SVImportReport();
+    List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+    long start = System.nanoTime();
+
+    long lastRow = 0;
+    while (true) {
+      SourceRow row;
+      try {
+        row = source.next();
+      } catch (IOException e) {
+        // Earlier chunks are already committed, so the rows written so far are reported instead
+        // of failing the whole request.
+        report.addError(lastRow + 1, "Unreadable input, import stopped: " + e.getMessage());
+        break;
+      }
+      if (row == null) {
+        break;
+      }
+      lastRow = row.number();
+
+      try {
+        chunk.add(toImportRow(entityType, row, creator));
+      } catch (RowException e) {
+        report.addError(row.number(), e.getMessage());
+      }
+
+      if (chunk.size() == CHUNK_SIZE) {
+        writeChunk(entityType, chunk, report);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      writeChunk(entityType, chunk, report);
+    }
+
+    log.info("Imported {} {} rows ({} failed) in {} ms", report.getImported(), entityType,
+        report.getFailed(), (System.nanoTime() - start) / 1_000_000);
+    return report;
+  }
+
+  private void writeChunk(SVEntityType entityType, List<ImportRow> chunk, SVImportReport report) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> persist(chunk));
+      index(chunk);
+      report.addImported(chunk.size());
+    } catch (RuntimeException e) {
+      log.warn("Import chunk failed, retrying its {} rows one by one", chunk.size(), e);
+      entityManager.clear();
+      for (ImportRow row : chunk) {
+        // The rolled back attempt left generated ids on the entities, which persist would reject
+        // as detached.
+        row.clearIds();
+        try {
+          transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+          index(List.of(row));
+          report.addImported(1);
+        } catch (RuntimeException rowFailure) {
+          entityManager.clear();
+          report.addError(row.number(), rootMessage(rowFailure));
+        }
+      }
+    }
+
+    tileCache.clear();
+    geoQueryCache.evictAll(entityType);
+  }
+
+  private void persist(List<ImportRow> rows) {
+    for (ImportRow row : rows) {
+      // Parent ids are generated on persist, so children are linked afterwards. They are not
+      // attached to the parent's collections, which would add an update per child.
+      entityManager.persist(row.entity());
+      row.linkChildren().accept(row.entity());
+      row.children().forEach(entityManager::persist);
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Adds committed rows to the spatial index. Called only once their transaction has committed,
+   * so rows of a rolled back chunk never show up in it.
+   */
+  private void index(List<ImportRow> rows) {
+    for (ImportRow row : rows) {
+      spatialIndex.put(row.entityType(), row.entity().getId(), row.entity().getLocationPoint());
+    }
+  }
+
+  private ImportRow toImportRow(SVEntityType entityType, SourceRow row, SVUser creator)
+      throws RowException {
+    if (row.error() != null) {
+      throw new RowException(row.error());
+    }
+
+    return switch (entityType) {
+      case COURT -> {
+        SVCourtImportRow data = bind(row.node(), SVCourtImportRow.class);
+        validateEntity(data);
+        SVCourt court = mapper.toCourt(data);
+        court.setCreator(creator);
+        List<SVCourtSchedule> schedules = mapEach(data.getSchedules(), schedule -> {
+          validateSchedule(schedule);
+          SVCourtSchedule courtSchedule = mapper.toCourtSchedule(schedule);
+          courtSchedule.setSubmittedBy(creator);
+          return courtSchedule;
+        });
+        List<SVCourtPrice> prices = mapEach(data.getPrices(), price -> {
+          validatePrice(price);
+          SVCourtPrice courtPrice = mapper.toCourtPrice(price);
+          courtPrice.setSubmittedBy(creator);
+          return courtPrice;
+        });
+        yield new ImportRow(row.number(), entityType, court, concat(schedules, prices), parent -> {
+          schedules.forEach(schedule -> schedule.setCourtId(parent.getId()));
+          prices.forEach(price -> price.setCourtId(parent.getId()));
+        });
+      }
+      case COACH -> {
+        SVCoachImportRow data = bind(row.node(), SVCoachImportRow.class);
+        validateEntity(data);
+        SVCoach coach = mapper.toCoach(data);
+        coach.setCreator(creator);
+        List<SVCoachSchedule> schedules = mapEach(data.getSchedules(), schedule -> {
+          validateSchedule(schedule);
+          SVCoachSchedule coachSchedule = mapper.toCoachSchedule(schedule);
+          coachSchedule.setSubmittedBy(creator);
+          return coachSchedule;
+        });
+        List<SVCoachPrice> prices = mapEach(data.getPrices(), price -> {
+          validatePrice(price);
+          SVCoachPrice coachPrice = mapper.toCoachPrice(price);
+          coachPrice.setSubmittedBy(creator);
+          return coachPrice;
+        });
+        yield new ImportRow(row.number(), entityType, coach, concat(schedules, prices), parent -> {
+          schedules.forEach(schedule -> schedule.setCoachId(parent.getId()));
+          prices.forEach(price -> price.setCoachId(parent.getId()));
+        });
+      }
+      case STRINGER -> {
+        SVStringerImportRow data = bind(row.node(), SVStringerImportRow.class);
+        validateEntity(data);
+        SVStringer stringer = mapper.toStringer(data);
+        stringer.setCreator(creator);
+        List<SVStringerPrice> prices = mapEach(data.getPrices(), price -> {
+          validateStringerPrice(price);
+          SVStringerPrice stringerPrice = mapper.toStringerPrice(price);
+          stringerPrice.setSubmittedBy(creator);
+          return stringerPrice;
+        });
+        yield new ImportRow(row.number(), entityType, stringer, concat(prices, List.of()),
+            parent -> prices.forEach(price -> price.setStringerId(parent.getId())));
+      }
+    };
+  }
+
+  private <T> T bind(JsonNode node, Class<T> type) throws RowException {
+    try {
+      return objectMapper.treeToValue(node, type);
+    } catch (JsonProcessingException e) {
+      throw new RowException("Invalid row: " + e.getOriginalMessage());
+    }
+  }
+
+  private void validateEntity(SVEntityDto data) throws RowException {
+    require(data.getName() != null && !data.getName().isBlank(), "name is required");
+    require(data.getName().length() <= 100, "name is longer than 100 characters");
+    require(data.getLocation() == null || data.getLocation().length() <= 100,
+        "location is longer than 100 characters");
+    require(data.getDescription() == null || data.getDescription().length() <= 400,
+        "description is longer than 400 characters");
+    require(data.getLocationPoint() != null && data.getLocationPoint().getLongitude() != null
+        && data.getLocationPoint().getLatitude() != null, "longitude and latitude are required");
+    require(Math.abs(data.getLocationPoint().getLongitude()) <= 180
+        && Math.abs(data.getLocationPoint().getLatitude()) <= 90,
+        "longitude or latitude is out of range");
+  }
+
+  private void validateSchedule(SVEntityScheduleCreationData schedule) throws RowException {
+    require(schedule.getDayOfWeek() != null && schedule.getDayOfWeek() >= 0
+        && schedule.getDayOfWeek() <= 6, "schedule dayOfWeek must be between 0 and 6");
+    require(schedule.getStartTime() != null && schedule.getEndTime() != null,
+        "schedule startTime and endTime are required");
+  }
+
+  private void validatePrice(SVEntityPriceCreationData price) throws RowException {
+    require(price.getMinPrice() != null && price.getMaxPrice() != null,
+        "price minPrice and maxPrice are required");
+    require(price.getMinPrice() <= price.getMaxPrice(), "price minPrice exceeds maxPrice");
+    require(price.getDuration() != null && price.getDuration() > 0
+        && price.getDurationUnit() != null, "price duration and durationUnit are required");
+  }
+
+  private void validateStringerPrice(SVStringerPriceCreationData price) throws RowException {
+    require(price.getStringName() != null && !price.getStringName().isBlank()
+        && price.getStringName().length() <= 100, "price stringName is required");
+    require(price.getPrice() != null && price.getPrice() >= 0, "price must not be negative");
+  }
+
+  private static void require(boolean condition, String message) throws RowException {
+    if (!condition) {
+      throw new RowException(message);
+    }
+  }
+
+  private static <S, T> List<T> mapEach(List<S> items, RowFunction<S, T> function)
+      throws RowException {
+    List<T> result = new ArrayList<>();
+    if (items != null) {
+      for (S item : items) {
+        result.add(function.apply(item));
+      }
+    }
+    return result;
+  }
+
+  private static List<SVBaseUpvotable> concat(List<? extends SVBaseUpvotable> first,
+      List<? extends SVBaseUpvotable> second) {
+    List<SVBaseUpvotable> result = new ArrayList<>(first.size() + second.size());
+    result.addAll(first);
+    result.addAll(second);
+    return result;
+  }
+
+  private static String rootMessage(Throwable throwable) {
+    Throwable root = throwable;
+    while (root.getCause() != null) {
+      root = root.getCause();
+    }
+    return root.getMessage();
+  }
+
+  private RowSource ndjsonRows(BufferedReader reader) {
+    long[] lineNumber = {0};
+    return () -> {
+      String line;
+      do {
+        line = reader.readLine();
+        lineNumber[0]++;
+      } while (line != null && line.isBlank());
+      if (line == null) {
+        return null;
+      }
+
+      try {
+        return new SourceRow(lineNumber[0], objectMapper.readTree(line), null);
+      } catch (JsonProcessingException e) {
+        return new SourceRow(lineNumber[0], null, "Invalid JSON: " + e.getOriginalMessage());
+      }
+    };
+  }
+
+  private RowSource csvRows(BufferedReader reader) throws IOException {
+    SVCsvReader csv = new SVCsvReader(reader);
+    List<String> header = csv.readRecord();
+    if (header == null) {
+      throw new BadRequestException("Missing CSV header");
+    }
+
+    long[] recordNumber = {0};
+    return () -> {
+      List<String> fields = csv.readRecord();
+      if (fields == null) {
+        return null;
+      }
+      recordNumber[0]++;
+      if (fields.size() != header.size()) {
+        return new SourceRow(recordNumber[0], null,
+            "Expected " + header.size() + " columns but found " + fields.size());
+      }
+
+      ObjectNode node = objectMapper.createObjectNode();
+      for (int i = 0; i < header.size(); i++) {
+        String column = header.get(i).trim();
+        String value = fields.get(i);
+        if (value.isEmpty()) {
+          continue;
+        }
+
+        if (column.equals("longitude") || column.equals("latitude")) {
+          node.withObject("/locationPoint").put(column, value);
+        } else if (JSON_COLUMNS.contains(column)) {
+          try {
+            node.set(column, objectMapper.readTree(value));
+          } catch (JsonProcessingException e) {
+            return new SourceRow(recordNumber[0], null,
+                "Invalid JSON in column " + column + ": " + e.getOriginalMessage());
+          }
+        } else {
+          node.put(column, value);
+        }
+      }
+      return new SourceRow(recordNumber[0], node, null);
+    };
+  }
+
+  @FunctionalInterface
+  private interface RowSource {
+
+    SourceRow next() throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface RowFunction<S, T> {
+
+    T apply(S item) throws RowException;
+  }
+
+  private record SourceRow(long number, JsonNode node, String error) {
+
+  }
+
+  private record ImportRow(long number, SVEntityType entityType, SVBaseModel entity,
+      List<SVBaseUpvotable> children, Consumer<SVBaseModel> linkChildren) {
+
+    void clearIds() {
+      entity.setId(null);
+      children.forEach(child -> child.setId(null));
+    }
+  }
+
+  private static class RowException extends Exception {
+
+    RowException(String message) {
+      super(message);
+    }
+  }
+}
@@ -1,9 +1,14 @@
 package com.shuttleverse.community.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
+import com.shuttleverse.community.api.SVCursorPage;
+import com.shuttleverse.community.cache.SVGeoQueryCache;
+import com.shuttleverse.community.cache.SVSpatialIndex;
+import com.shuttleverse.community.cache.SVTileCache;
 import com.shuttleverse.community.constants.SVEntityType;
-import com.shuttleverse.community.constants.SVInfoType;
+import com.shuttleverse.community.constants.SVSortDirection;
 import com.shuttleverse.community.constants.SVSortType;
 import com.shuttleverse.community.dto.SVLocationDto;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
@@ -13,7 +18,9 @@ import com.shuttleverse.community.model.SVCoachSchedule;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.SVBoundingBoxParams;
 import com.shuttleverse.community.params.SVCoachCreationData;
+import com.shuttleverse.community.params.SVDistanceCursor;
 import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVNearestParams;
 import com.shuttleverse.community.params.SVSortParams;
 import com.shuttleverse.community.params.SVWithinDistanceParams;
 import com.shuttleverse.community.query.SVQueryFactory;
@@ -21,22 +28,22 @@ import com.shuttleverse.community.query.SVQueryModel;
 import com.shuttleverse.community.repository.SVCoachPriceRepository;
 import com.shuttleverse.community.repository.SVCoachRepository;
 import com.shuttleverse.community.repository.SVCoachScheduleRepository;
+import com.shuttleverse.community.repository.SVMapClusterProjection;
 import com.shuttleverse.community.util.SVAuthenticationUtils;
 import com.shuttleverse.community.util.SVQueryUtils;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import jakarta.ws.rs.BadRequestException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,6 +53,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class SVCoachService {
 
   private final SVMapStructMapper mapper;
+  private final SVTileCache tileCache;
+  private final SVGeoQueryCache geoQueryCache;
+  private final SVSpatialIndex spatialIndex;
   private final SVCoachRepository coachRepository;
   private final SVCoachScheduleRepository scheduleRepository;
   private final SVCoachPriceRepository priceRepository;
@@ -56,7 +66,11 @@ public class SVCoachService {
   @Transactional
   public SVCoach createCoach(SVCoach coach, SVUser creator) {
     coach.setCreator(creator);
-    return coachRepository.save(coach);
+    tileCache.evict(coach.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COACH, coach.getLocationPoint());
+    SVCoach saved = coachRepository.save(coach);
+    spatialIndex.put(SVEntityType.COACH, saved.getId(), saved.getLocationPoint());
+    return saved;
   }
 
   public SVCoach getCoach(UUID id) {
@@ -67,78 +81,165 @@ public class SVCoachService {
   @Transactional(readOnly = true)
   public Page<SVCoach> getAllCoaches(SVEntityFilterParams params, SVSortParams sortParams,
       Pageable pageable) {
-    List<UUID> ids = findCoachesByPriceAndSchedule(params);
+    BooleanExpression predicate = buildFilterPredicate(params);
 
-    BooleanExpression predicate = SVQueryModel.coach.id.in(ids);
+    return queryFactory.getPage(buildSortedQuery(predicate, sortParams), pageable,
+        () -> queryFactory.getQueryCount(SVQueryModel.coach, predicate));
+  }
 
-    if (params.getIsVerified() != null) {
-      predicate = predicate.and(SVQueryModel.coach.owner.isNotNull());
+  @Transactional(readOnly = true)
+  public Slice<SVCoach> getAllCoachesSlice(SVEntityFilterParams params, SVSortParams sortParams,
+      Pageable pageable) {
+    return queryFactory.getSlice(buildSortedQuery(buildFilterPredicate(params), sortParams),
+        pageable);
+  }
+
+  private List<UUID> findIdsWithinBounds(SVBoundingBoxParams params) {
+    return geoQueryCache.findWithinBounds(SVEntityType.COACH, params.getMinLon(),
+        params.getMinLat(), params.getMaxLon(), params.getMaxLat(),
+        bounds -> spatialIndex.isAvailable()
+            ? spatialIndex.findWithinBounds(SVEntityType.COACH, bounds.getMinX(),
+                bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY())
+            : coachRepository.findLocationsWithinBounds(bounds.getMinX(), bounds.getMinY(),
+                bounds.getMaxX(), bounds.getMaxY()));
+  }
+
+  private List<UUID> findIdsWithinDistance(SVWithinDistanceParams params) {
+    return geoQueryCache.findWithinDistance(SVEntityType.COACH, params.getLocation(),
+        params.getDistance(), (location, distance) -> spatialIndex.isAvailable()
+            ? spatialIndex.findWithinDistance(SVEntityType.COACH, location, distance)
+            : coachRepository.findLocationsWithinDistance(location, distance));
+  }
+
+  private JPAQuery<SVCoach> buildSortedQuery(BooleanExpression predicate,
+      SVSortParams sortParams) {
+    JPAQuery<SVCoach> query = queryFactory.getQuery(SVQueryModel.coach, predicate);
+
+    if (sortParams.getSortType() == SVSortType.NAME) {
+      return query.orderBy(
+          SVQueryUtils.orderByName(SVQueryModel.coach.name, sortParams.getSortDirection()));
     }
 
-    if (sortParams.getSortType() != SVSortType.LOCATION) {
-      Pageable sortedPageable = PageRequest.of(
-          pageable.getPageNumber(),
-          pageable.getPageSize(),
-          sortParams.getSortDirection().toPagableDirection(),
-          sortParams.getSortType().toPageableProperty());
-      return coachRepository.findAll(predicate, sortedPageable);
+    Point location = mapper.locationDtoToPoint(
+        new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude()));
+    if (sortParams.getSortType() == SVSortType.TRENDING) {
+      // Distance only breaks ties in score, which in practice orders the entities nobody has
+      // voted on; the id keeps pages stable when that ties too.
+      return query.orderBy(
+          SVQueryUtils.orderByTrending(SVQueryModel.coach.trendingScore,
+              sortParams.getSortDirection()),
+          SVQueryUtils.orderByDistance(SVQueryModel.coach.locationPoint, location,
+              SVSortDirection.ASC),
+          SVQueryModel.coach.id.asc());
     }
 
-    JPAQuery<SVCoach> query = queryFactory.getQuery(SVQueryModel.coach, predicate)
-        .orderBy(SVQueryUtils.orderByDistance(SVQueryModel.coach.locationPoint,
-            mapper.locationDtoToPoint(new SVLocationDto(sortParams.getLongitude(),
-                sortParams.getLatitude())),
-            sortParams.getSortDirection()));
+    return query.orderBy(SVQueryUtils.orderByDistance(SVQueryModel.coach.locationPoint, location,
+        sortParams.getSortDirection()));
+  }
+
+  @Transactional(readOnly = true)
+  public List<SVMapClusterProjection> getCoachClusters(SVBoundingBoxParams params, int zoom) {
+    return coachRepository.findClustersWithinBounds(params.getMinLon(), params.getMinLat(),
+        params.getMaxLon(), params.getMaxLat(), SVQueryUtils.clusterCellSize(zoom));
+  }
+
+  @Transactional(readOnly = true)
+  public List<SVCoach> getNearestCoaches(SVNearestParams params) {
+    return coachRepository.findNearest(
+        mapper.locationDtoToPoint(
+            new SVLocationDto(params.getLongitude(), params.getLatitude())),
+        params.getK());
+  }
 
-    Long totalCount = queryFactory.getQueryCount(SVQueryModel.coach, predicate);
+  @Transactional(readOnly = true)
+  public SVCursorPage<SVCoach> getAllCoachesByCursor(SVEntityFilterParams params,
+      SVSortParams sortParams, SVDistanceCursor cursor, int size) {
+    if (sortParams.getSortType() != SVSortType.LOCATION) {
+      throw new BadRequestException("Cursor pagination is only supported for location sort");
+    }
 
-    return PageableExecutionUtils.getPage(
-        query.offset(pageable.getOffset())
-            .limit(pageable.getPageSize())
-            .fetch(),
-        pageable,
-        () -> totalCount);
+    return queryFactory.getDistanceCursorPage(SVQueryModel.coach, SVQueryModel.coach.id,
+        SVQueryModel.coach.locationPoint, buildFilterPredicate(params),
+        mapper.locationDtoToPoint(
+            new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude())),
+        sortParams.getSortDirection(), cursor, size);
   }
 
-  private List<UUID> findCoachesByPriceAndSchedule(SVEntityFilterParams params) {
-    Set<UUID> priceResults = new HashSet<>();
-    Set<UUID> scheduleResults = new HashSet<>();
-    BooleanExpression pricePredicate = SVQueryModel.coachPrice.minPrice.goe(params.getMinPrice())
-        .and(SVQueryModel.coachPrice.maxPrice.loe(params.getMaxPrice()));
-    priceRepository.findAll(pricePredicate).forEach(price -> {
-      priceResults.add(price.getCoachId());
-    });
+  private BooleanExpression buildFilterPredicate(SVEntityFilterParams params) {
+    BooleanExpression predicate = JPAExpressions.selectOne()
+        .from(SVQueryModel.coachPrice)
+        .where(SVQueryModel.coachPrice.coachId.eq(SVQueryModel.coach.id)
+            .and(SVQueryModel.coachPrice.minPrice.goe(params.getMinPrice()))
+            .and(SVQueryModel.coachPrice.maxPrice.loe(params.getMaxPrice())))
+        .exists();
+
     if (params.getDaysOfWeek() != null && !params.getDaysOfWeek().isEmpty()) {
-      BooleanExpression schedulePredicate = SVQueryModel.coachSchedule.dayOfWeek.in(
-          params.getDaysOfWeek());
-      scheduleRepository.findAll(schedulePredicate).forEach(schedule -> {
-        scheduleResults.add(schedule.getCoachId());
-      });
+      predicate = predicate.and(JPAExpressions.selectOne()
+          .from(SVQueryModel.coachSchedule)
+          .where(SVQueryModel.coachSchedule.coachId.eq(SVQueryModel.coach.id)
+              .and(SVQueryModel.coachSchedule.dayOfWeek.in(params.getDaysOfWeek())))
+          .exists());
     }
 
-    Set<UUID> result = new HashSet<>(priceResults);
-    result.retainAll(scheduleResults);
+    if (params.getIsVerified() != null) {
+      predicate = predicate.and(SVQueryModel.coach.owner.isNotNull());
+    }
 
-    return !scheduleResults.isEmpty() ? new ArrayList<>(result) : new ArrayList<>(priceResults);
+    return predicate;
   }
 
   @Transactional(readOnly = true)
   public Page<SVCoach> getCoachesByBoundingBox(SVBoundingBoxParams params, Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getPageByIds(SVQueryModel.coach, SVQueryModel.coach.id,
+          findIdsWithinBounds(params), pageable);
+    }
     return coachRepository.findWithinBounds(params.getMinLon(), params.getMinLat(),
         params.getMaxLon(), params.getMaxLat(), pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<SVCoach> getCoachesByBoundingBoxSlice(SVBoundingBoxParams params,
+      Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getSliceByIds(SVQueryModel.coach, SVQueryModel.coach.id,
+          findIdsWithinBounds(params), pageable);
+    }
+    return coachRepository.findSliceWithinBounds(params.getMinLon(), params.getMinLat(),
+        params.getMaxLon(), params.getMaxLat(), pageable);
+  }
+
   @Transactional(readOnly = true)
   public Page<SVCoach> getCoachesWithinDistance(SVWithinDistanceParams params, Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getPageByIds(SVQueryModel.coach, SVQueryModel.coach.id,
+          findIdsWithinDistance(params), pageable);
+    }
     return coachRepository.findWithinDistance(params.getLocation(), params.getDistance(), pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<SVCoach> getCoachesWithinDistanceSlice(SVWithinDistanceParams params,
+      Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getSliceByIds(SVQueryModel.coach, SVQueryModel.coach.id,
+          findIdsWithinDistance(params), pageable);
+    }
+    return coachRepository.findSliceWithinDistance(params.getLocation(), params.getDistance(),
+        pageable);
+  }
+
   @Transactional
   public SVCoach updateCoach(UUID id, SVCoachCreationData data) {
     SVCoach coach = coachRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Coach not found"));
 
+    tileCache.evict(coach.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COACH, coach.getLocationPoint());
     mapper.updateCoachFromDto(data, coach);
+    tileCache.evict(coach.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COACH, coach.getLocationPoint());
+    spatialIndex.put(SVEntityType.COACH, coach.getId(), coach.getLocationPoint());
 
     return coachRepository.save(coach);
   }
@@ -147,6 +248,9 @@ public class SVCoachService {
   public void deleteCoach(UUID id) {
     SVCoach coach = getCoach(id);
     coachRepository.delete(coach);
+    tileCache.evict(coach.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COACH, coach.getLocationPoint());
+    spatialIndex.remove(SVEntityType.COACH, id);
   }
 
   @Transactional
@@ -168,22 +272,12 @@ public class SVCoachService {
     return scheduleRepository.save(schedule);
   }
 
-  @Transactional
-  public SVCoachSchedule upvoteSchedule(UUID scheduleId) {
-    SVCoachSchedule schedule = scheduleRepository.findById(scheduleId)
-        .orElseThrow(() -> new EntityNotFoundException("Schedule not found"));
-    schedule.setUpvotes(schedule.getUpvotes() + 1);
-    return scheduleRepository.save(schedule);
-  }
-
   @Transactional
   public SVCoachSchedule upvoteSchedule(UUID scheduleId, SVUser creator) {
-    SVCoachSchedule schedule = this.upvoteSchedule(scheduleId);
-
-    upvoteService.addUpvote(SVEntityType.COACH, SVInfoType.SCHEDULE, scheduleId,
-        creator);
+    upvoteService.addUpvote(scheduleRepository, scheduleId, creator);
 
-    return schedule;
+    return scheduleRepository.findById(scheduleId)
+        .orElseThrow(() -> new EntityNotFoundException("Schedule not found"));
   }
 
   @Transactional
@@ -193,20 +287,12 @@ public class SVCoachService {
     return priceRepository.save(price);
   }
 
-  @Transactional
-  public SVCoachPrice upvotePrice(UUID priceId) {
-    SVCoachPrice coachPrice = coachPriceRepository.findById(priceId)
-        .orElseThrow(() -> new EntityNotFoundException("Price not found"));
-    coachPrice.setUpvotes(coachPrice.getUpvotes() + 1);
-    return coachPriceRepository.save(coachPrice);
-  }
-
   @Transactional
   public SVCoachPrice upvotePrice(UUID priceId, SVUser creator) {
-    SVCoachPrice coachPrice = this.upvotePrice(priceId);
-    upvoteService.addUpvote(SVEntityType.COACH, SVInfoType.PRICE, priceId, creator);
+    upvoteService.addUpvote(priceRepository, priceId, creator);
 
-    return coachPrice;
+    return priceRepository.findById(priceId)
+        .orElseThrow(() -> new EntityNotFoundException("Price not found"));
   }
 
   @Transactional
@@ -220,17 +306,20 @@ public class SVCoachService {
 
   @Transactional
   public void setInfoVerified(UUID coachId) {
-    List<SVCoachPrice> prices = priceRepository.findAllByCoachId(coachId);
-    List<SVCoachSchedule> schedules = scheduleRepository.findAllByCoachId(coachId);
+    setInfoVerified(List.of(coachId));
+  }
 
-    for (SVCoachPrice price : prices) {
-      price.setIsVerified(true);
-    }
-    for (SVCoachSchedule schedule : schedules) {
-      schedule.setIsVerified(true);
+  /**
+   * Marks every price and schedule of the given coaches as verified with one update statement per
+   * table.
+   */
+  @Transactional
+  public void setInfoVerified(Collection<UUID> coachIds) {
+    if (coachIds.isEmpty()) {
+      return;
     }
-    priceRepository.saveAll(prices);
-    scheduleRepository.saveAll(schedules);
+    priceRepository.setVerifiedByCoachIdIn(coachIds);
+    scheduleRepository.setVerifiedByCoachIdIn(coachIds);
   }
 
   public boolean isSessionUserOwner(String coachId) {
@@ -251,79 +340,24 @@ public class SVCoachService {
   public List<SVCoachSchedule> updateAllSchedules(UUID coachId,
       List<SVCoachSchedule> newSchedules) {
     List<SVCoachSchedule> existingSchedules = scheduleRepository.findAllByCoachId(coachId);
-    List<SVCoachSchedule> result = new ArrayList<>();
+    newSchedules.forEach(schedule -> schedule.setCoachId(coachId));
 
-    Map<String, SVCoachSchedule> existingSchedulesMap = new HashMap<>();
-    for (SVCoachSchedule schedule : existingSchedules) {
-      String key =
-          schedule.getDayOfWeek() + "_" + schedule.getStartTime() + "_" + schedule.getEndTime();
-      existingSchedulesMap.put(key, schedule);
-    }
-
-    for (SVCoachSchedule newSchedule : newSchedules) {
-      newSchedule.setCoachId(coachId);
-
-      String key = newSchedule.getDayOfWeek() + "_" + newSchedule.getStartTime() + "_"
-          + newSchedule.getEndTime();
-      SVCoachSchedule existingSchedule = existingSchedulesMap.get(key);
-
-      if (existingSchedule != null) {
-        result.add(existingSchedule);
-        existingSchedulesMap.remove(key);
-      } else {
-        newSchedule.setSubmittedBy(SVAuthenticationUtils.getCurrentUser());
-        result.add(scheduleRepository.save(newSchedule));
-      }
-    }
-
-    if (!existingSchedulesMap.isEmpty()) {
-      scheduleRepository.deleteAll(existingSchedulesMap.values());
-      for (SVCoachSchedule schedule : existingSchedulesMap.values()) {
-        upvoteService.deleteUpvoteByEntityId(schedule.getId());
-      }
-    }
-
-    return result;
+    return upvoteService.replaceAll(scheduleRepository, existingSchedules, newSchedules,
+        schedule -> Arrays.asList(schedule.getDayOfWeek(),
+            schedule.getStartTime(), schedule.getEndTime()),
+        SVAuthenticationUtils.getCurrentUser());
   }
 
   @Transactional
   public List<SVCoachPrice> updateAllPrices(UUID coachId, List<SVCoachPrice> newPrices) {
     List<SVCoachPrice> existingPrices = priceRepository.findAllByCoachId(coachId);
-    List<SVCoachPrice> result = new ArrayList<>();
-
-    Map<String, SVCoachPrice> existingPricesMap = new HashMap<>();
-    for (SVCoachPrice price : existingPrices) {
-      String key = price.getMinPrice() + "_" + price.getMaxPrice() + "_"
-          + price.getDuration() + "_" + price.getDurationUnit() + "_"
-          + (price.getDescription() != null ? price.getDescription() : "");
-      existingPricesMap.put(key, price);
-    }
-
-    for (SVCoachPrice newPrice : newPrices) {
-      newPrice.setCoachId(coachId);
-
-      String key = newPrice.getMinPrice() + "_" + newPrice.getMaxPrice() + "_"
-          + newPrice.getDuration() + "_" + newPrice.getDurationUnit() + "_"
-          + (newPrice.getDescription() != null ? newPrice.getDescription() : "");
-      SVCoachPrice existingPrice = existingPricesMap.get(key);
-
-      if (existingPrice != null) {
-        result.add(existingPrice);
-        existingPricesMap.remove(key);
-      } else {
-        newPrice.setSubmittedBy(SVAuthenticationUtils.getCurrentUser());
-        result.add(priceRepository.save(newPrice));
-      }
-    }
-
-    if (!existingPricesMap.isEmpty()) {
-      priceRepository.deleteAll(existingPricesMap.values());
-      for (SVCoachPrice price : existingPricesMap.values()) {
-        upvoteService.deleteUpvoteByEntityId(price.getId());
-      }
-    }
+    newPrices.forEach(price -> price.setCoachId(coachId));
 
-    return result;
+    return upvoteService.replaceAll(priceRepository, existingPrices, newPrices,
+        price -> Arrays.asList(price.getMinPrice(), price.getMaxPrice(),
+            price.getDuration(), price.getDurationUnit(),
+            Objects.requireNonNullElse(price.getDescription(), "")),
+        SVAuthenticationUtils.getCurrentUser());
   }
 
   private boolean isOwner(UUID coachId, UUID userId) {
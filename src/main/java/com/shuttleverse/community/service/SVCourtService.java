@@ -1,9 +1,14 @@
 package com.shuttleverse.community.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
+import com.shuttleverse.community.api.SVCursorPage;
+import com.shuttleverse.community.cache.SVGeoQueryCache;
+import com.shuttleverse.community.cache.SVSpatialIndex;
+import com.shuttleverse.community.cache.SVTileCache;
 import com.shuttleverse.community.constants.SVEntityType;
-import com.shuttleverse.community.constants.SVInfoType;
+import com.shuttleverse.community.constants.SVSortDirection;
 import com.shuttleverse.community.constants.SVSortType;
 import com.shuttleverse.community.dto.SVLocationDto;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
@@ -13,7 +18,9 @@ import com.shuttleverse.community.model.SVCourtSchedule;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.SVBoundingBoxParams;
 import com.shuttleverse.community.params.SVCourtCreationData;
+import com.shuttleverse.community.params.SVDistanceCursor;
 import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVNearestParams;
 import com.shuttleverse.community.params.SVSortParams;
 import com.shuttleverse.community.params.SVWithinDistanceParams;
 import com.shuttleverse.community.query.SVQueryFactory;
@@ -21,22 +28,22 @@ import com.shuttleverse.community.query.SVQueryModel;
 import com.shuttleverse.community.repository.SVCourtPriceRepository;
 import com.shuttleverse.community.repository.SVCourtRepository;
 import com.shuttleverse.community.repository.SVCourtScheduleRepository;
+import com.shuttleverse.community.repository.SVMapClusterProjection;
 import com.shuttleverse.community.util.SVAuthenticationUtils;
 import com.shuttleverse.community.util.SVQueryUtils;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import jakarta.ws.rs.BadRequestException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,6 +53,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class SVCourtService {
 
   private final SVMapStructMapper mapper;
+  private final SVTileCache tileCache;
+  private final SVGeoQueryCache geoQueryCache;
+  private final SVSpatialIndex spatialIndex;
   private final SVCourtRepository courtRepository;
   private final SVCourtScheduleRepository scheduleRepository;
   private final SVCourtPriceRepository priceRepository;
@@ -55,7 +65,11 @@ public class SVCourtService {
   @Transactional
   public SVCourt createCourt(SVUser creator, SVCourt court) {
     court.setCreator(creator);
-    return courtRepository.save(court);
+    tileCache.evict(court.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COURT, court.getLocationPoint());
+    SVCourt saved = courtRepository.save(court);
+    spatialIndex.put(SVEntityType.COURT, saved.getId(), saved.getLocationPoint());
+    return saved;
   }
 
   public SVCourt getCourt(UUID id) {
@@ -65,73 +79,157 @@ public class SVCourtService {
 
   @Transactional(readOnly = true)
   public Page<SVCourt> getCourtsByBoundingBox(SVBoundingBoxParams params, Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getPageByIds(SVQueryModel.court, SVQueryModel.court.id,
+          findIdsWithinBounds(params), pageable);
+    }
     return courtRepository.findWithinBounds(params.getMinLon(), params.getMinLat(),
         params.getMaxLon(), params.getMaxLat(), pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<SVCourt> getCourtsByBoundingBoxSlice(SVBoundingBoxParams params,
+      Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getSliceByIds(SVQueryModel.court, SVQueryModel.court.id,
+          findIdsWithinBounds(params), pageable);
+    }
+    return courtRepository.findSliceWithinBounds(params.getMinLon(), params.getMinLat(),
+        params.getMaxLon(), params.getMaxLat(), pageable);
+  }
+
   @Transactional(readOnly = true)
   public Page<SVCourt> getCourtsWithinDistance(SVWithinDistanceParams params, Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getPageByIds(SVQueryModel.court, SVQueryModel.court.id,
+          findIdsWithinDistance(params), pageable);
+    }
     return courtRepository.findWithinDistance(params.getLocation(), params.getDistance(), pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<SVCourt> getCourtsWithinDistanceSlice(SVWithinDistanceParams params,
+      Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getSliceByIds(SVQueryModel.court, SVQueryModel.court.id,
+          findIdsWithinDistance(params), pageable);
+    }
+    return courtRepository.findSliceWithinDistance(params.getLocation(), params.getDistance(),
+        pageable);
+  }
+
   @Transactional(readOnly = true)
   public Page<SVCourt> getAllCourts(SVEntityFilterParams params, SVSortParams sortParams,
       Pageable pageable) {
+    BooleanExpression predicate = buildFilterPredicate(params);
+
+    return queryFactory.getPage(buildSortedQuery(predicate, sortParams), pageable,
+        () -> queryFactory.getQueryCount(SVQueryModel.court, predicate));
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<SVCourt> getAllCourtsSlice(SVEntityFilterParams params, SVSortParams sortParams,
+      Pageable pageable) {
+    return queryFactory.getSlice(buildSortedQuery(buildFilterPredicate(params), sortParams),
+        pageable);
+  }
 
-    List<UUID> ids = findCourtsByPriceAndSchedule(params);
+  private List<UUID> findIdsWithinBounds(SVBoundingBoxParams params) {
+    return geoQueryCache.findWithinBounds(SVEntityType.COURT, params.getMinLon(),
+        params.getMinLat(), params.getMaxLon(), params.getMaxLat(),
+        bounds -> spatialIndex.isAvailable()
+            ? spatialIndex.findWithinBounds(SVEntityType.COURT, bounds.getMinX(),
+                bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY())
+            : courtRepository.findLocationsWithinBounds(bounds.getMinX(), bounds.getMinY(),
+                bounds.getMaxX(), bounds.getMaxY()));
+  }
 
-    BooleanExpression predicate = SVQueryModel.court.id.in(ids);
+  private List<UUID> findIdsWithinDistance(SVWithinDistanceParams params) {
+    return geoQueryCache.findWithinDistance(SVEntityType.COURT, params.getLocation(),
+        params.getDistance(), (location, distance) -> spatialIndex.isAvailable()
+            ? spatialIndex.findWithinDistance(SVEntityType.COURT, location, distance)
+            : courtRepository.findLocationsWithinDistance(location, distance));
+  }
 
-    if (params.getIsVerified() != null) {
-      predicate = predicate.and(SVQueryModel.court.owner.isNotNull());
+  private JPAQuery<SVCourt> buildSortedQuery(BooleanExpression predicate,
+      SVSortParams sortParams) {
+    JPAQuery<SVCourt> query = queryFactory.getQuery(SVQueryModel.court, predicate);
+
+    if (sortParams.getSortType() == SVSortType.NAME) {
+      return query.orderBy(
+          SVQueryUtils.orderByName(SVQueryModel.court.name, sortParams.getSortDirection()));
     }
 
-    if (sortParams.getSortType() != SVSortType.LOCATION) {
-      Pageable sortedPageable = PageRequest.of(
-          pageable.getPageNumber(),
-          pageable.getPageSize(),
-          sortParams.getSortDirection().toPagableDirection(),
-          sortParams.getSortType().toPageableProperty());
-      return courtRepository.findAll(predicate, sortedPageable);
+    Point location = mapper.locationDtoToPoint(
+        new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude()));
+    if (sortParams.getSortType() == SVSortType.TRENDING) {
+      // Distance only breaks ties in score, which in practice orders the entities nobody has
+      // voted on; the id keeps pages stable when that ties too.
+      return query.orderBy(
+          SVQueryUtils.orderByTrending(SVQueryModel.court.trendingScore,
+              sortParams.getSortDirection()),
+          SVQueryUtils.orderByDistance(SVQueryModel.court.locationPoint, location,
+              SVSortDirection.ASC),
+          SVQueryModel.court.id.asc());
     }
 
-    JPAQuery<SVCourt> query = queryFactory.getQuery(SVQueryModel.court, predicate)
-        .orderBy(SVQueryUtils.orderByDistance(SVQueryModel.court.locationPoint,
-            mapper.locationDtoToPoint(
-                new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude())),
-            sortParams.getSortDirection()));
+    return query.orderBy(SVQueryUtils.orderByDistance(SVQueryModel.court.locationPoint, location,
+        sortParams.getSortDirection()));
+  }
 
-    Long queryCount = queryFactory.getQueryCount(SVQueryModel.court, predicate);
+  @Transactional(readOnly = true)
+  public List<SVMapClusterProjection> getCourtClusters(SVBoundingBoxParams params, int zoom) {
+    return courtRepository.findClustersWithinBounds(params.getMinLon(), params.getMinLat(),
+        params.getMaxLon(), params.getMaxLat(), SVQueryUtils.clusterCellSize(zoom));
+  }
 
-    return PageableExecutionUtils.getPage(
-        query.offset(pageable.getOffset())
-            .limit(pageable.getPageSize())
-            .fetch(),
-        pageable,
-        () -> queryCount);
+  @Transactional(readOnly = true)
+  public List<SVCourt> getNearestCourts(SVNearestParams params) {
+    return courtRepository.findNearest(
+        mapper.locationDtoToPoint(
+            new SVLocationDto(params.getLongitude(), params.getLatitude())),
+        params.getK());
   }
 
-  private List<UUID> findCourtsByPriceAndSchedule(SVEntityFilterParams params) {
-    Set<UUID> scheduleResults = new HashSet<>();
-    Set<UUID> priceResults = new HashSet<>();
-    if (params.getDaysOfWeek() != null && !params.getDaysOfWeek().isEmpty()) {
-      BooleanExpression schedulePredicate = SVQueryModel.courtSchedule.dayOfWeek.in(
-          params.getDaysOfWeek());
-      scheduleRepository.findAll(schedulePredicate).forEach(schedule -> {
-        scheduleResults.add(schedule.getCourtId());
-      });
+  @Transactional(readOnly = true)
+  public SVCursorPage<SVCourt> getAllCourtsByCursor(SVEntityFilterParams params,
+      SVSortParams sortParams, SVDistanceCursor cursor, int size) {
+    if (sortParams.getSortType() != SVSortType.LOCATION) {
+      throw new BadRequestException("Cursor pagination is only supported for location sort");
     }
 
-    BooleanExpression pricePredicate = SVQueryModel.courtPrice.minPrice.goe(params.getMinPrice())
-        .and(SVQueryModel.courtPrice.maxPrice.loe(params.getMaxPrice()));
-    priceRepository.findAll(pricePredicate).forEach(price -> {
-      priceResults.add(price.getCourtId());
-    });
+    return queryFactory.getDistanceCursorPage(SVQueryModel.court, SVQueryModel.court.id,
+        SVQueryModel.court.locationPoint, buildFilterPredicate(params),
+        mapper.locationDtoToPoint(
+            new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude())),
+        sortParams.getSortDirection(), cursor, size);
+  }
 
-    Set<UUID> result = new HashSet<>(priceResults);
-    result.retainAll(scheduleResults);
+  /**
+   * Builds the list filter as correlated EXISTS sub-queries so the price and schedule matching is
+   * evaluated as a semi-join in the same statement that fetches the page.
+   */
+  private BooleanExpression buildFilterPredicate(SVEntityFilterParams params) {
+    BooleanExpression predicate = JPAExpressions.selectOne()
+        .from(SVQueryModel.courtPrice)
+        .where(SVQueryModel.courtPrice.courtId.eq(SVQueryModel.court.id)
+            .and(SVQueryModel.courtPrice.minPrice.goe(params.getMinPrice()))
+            .and(SVQueryModel.courtPrice.maxPrice.loe(params.getMaxPrice())))
+        .exists();
 
-    return !scheduleResults.isEmpty() ? new ArrayList<>(result) : new ArrayList<>(priceResults);
+    if (params.getDaysOfWeek() != null && !params.getDaysOfWeek().isEmpty()) {
+      predicate = predicate.and(JPAExpressions.selectOne()
+          .from(SVQueryModel.courtSchedule)
+          .where(SVQueryModel.courtSchedule.courtId.eq(SVQueryModel.court.id)
+              .and(SVQueryModel.courtSchedule.dayOfWeek.in(params.getDaysOfWeek())))
+          .exists());
+    }
+
+    if (params.getIsVerified() != null) {
+      predicate = predicate.and(SVQueryModel.court.owner.isNotNull());
+    }
+
+    return predicate;
   }
 
   @Transactional
@@ -139,7 +237,12 @@ public class SVCourtService {
     SVCourt court = courtRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Coach not found"));
 
+    tileCache.evict(court.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COURT, court.getLocationPoint());
     mapper.updateCourtFromDto(data, court);
+    tileCache.evict(court.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COURT, court.getLocationPoint());
+    spatialIndex.put(SVEntityType.COURT, court.getId(), court.getLocationPoint());
 
     return courtRepository.save(court);
   }
@@ -148,6 +251,9 @@ public class SVCourtService {
   public void deleteCourt(UUID id) {
     SVCourt court = getCourt(id);
     courtRepository.delete(court);
+    tileCache.evict(court.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.COURT, court.getLocationPoint());
+    spatialIndex.remove(SVEntityType.COURT, id);
   }
 
   @Transactional
@@ -171,20 +277,12 @@ public class SVCourtService {
     return scheduleRepository.save(schedule);
   }
 
-  @Transactional
-  public SVCourtSchedule upvoteSchedule(UUID scheduleId) {
-    SVCourtSchedule schedule = scheduleRepository.findById(scheduleId)
-        .orElseThrow(() -> new EntityNotFoundException("Schedule not found"));
-    schedule.setUpvotes(schedule.getUpvotes() + 1);
-    return scheduleRepository.save(schedule);
-  }
-
   @Transactional
   public SVCourtSchedule upvoteSchedule(UUID scheduleId, SVUser creator) {
-    SVCourtSchedule courtSchedule = this.upvoteSchedule(scheduleId);
-    upvoteService.addUpvote(SVEntityType.COURT, SVInfoType.SCHEDULE, scheduleId,
-        creator);
-    return courtSchedule;
+    upvoteService.addUpvote(scheduleRepository, scheduleId, creator);
+
+    return scheduleRepository.findById(scheduleId)
+        .orElseThrow(() -> new EntityNotFoundException("Schedule not found"));
   }
 
   @Transactional
@@ -205,36 +303,30 @@ public class SVCourtService {
     return priceRepository.save(price);
   }
 
-  @Transactional
-  public SVCourtPrice upvotePrice(UUID priceId) {
-    SVCourtPrice courtPrice = priceRepository.findById(priceId)
-        .orElseThrow(() -> new EntityNotFoundException("Price not found"));
-    courtPrice.setUpvotes(courtPrice.getUpvotes() + 1);
-    return priceRepository.save(courtPrice);
-  }
-
   @Transactional
   public SVCourtPrice upvotePrice(UUID priceId, SVUser creator) {
-    SVCourtPrice courtPrice = this.upvotePrice(priceId);
+    upvoteService.addUpvote(priceRepository, priceId, creator);
 
-    upvoteService.addUpvote(SVEntityType.COURT, SVInfoType.PRICE, priceId, creator);
-
-    return courtPrice;
+    return priceRepository.findById(priceId)
+        .orElseThrow(() -> new EntityNotFoundException("Price not found"));
   }
 
   @Transactional
   public void setInfoVerified(UUID courtId) {
-    List<SVCourtPrice> prices = priceRepository.findAllByCourtId(courtId);
-    List<SVCourtSchedule> schedules = scheduleRepository.findAllByCourtId(courtId);
+    setInfoVerified(List.of(courtId));
+  }
 
-    for (SVCourtPrice price : prices) {
-      price.setIsVerified(true);
-    }
-    for (SVCourtSchedule schedule : schedules) {
-      schedule.setIsVerified(true);
+  /**
+   * Marks every price and schedule of the given courts as verified with one update statement per
+   * table.
+   */
+  @Transactional
+  public void setInfoVerified(Collection<UUID> courtIds) {
+    if (courtIds.isEmpty()) {
+      return;
     }
-    priceRepository.saveAll(prices);
-    scheduleRepository.saveAll(schedules);
+    priceRepository.setVerifiedByCourtIdIn(courtIds);
+    scheduleRepository.setVerifiedByCourtIdIn(courtIds);
   }
 
   public boolean isSessionUserOwner(String courtId) {
@@ -255,78 +347,23 @@ public class SVCourtService {
   public List<SVCourtSchedule> updateAllSchedules(UUID courtId,
       List<SVCourtSchedule> newSchedules) {
     List<SVCourtSchedule> existingSchedules = scheduleRepository.findAllByCourtId(courtId);
-    List<SVCourtSchedule> result = new ArrayList<>();
+    newSchedules.forEach(schedule -> schedule.setCourtId(courtId));
 
-    Map<String, SVCourtSchedule> existingSchedulesMap = new HashMap<>();
-    for (SVCourtSchedule schedule : existingSchedules) {
-      String key =
-          schedule.getDayOfWeek() + "_" + schedule.getOpenTime() + "_" + schedule.getCloseTime();
-      existingSchedulesMap.put(key, schedule);
-    }
-
-    for (SVCourtSchedule newSchedule : newSchedules) {
-      newSchedule.setCourtId(courtId);
-
-      String key = newSchedule.getDayOfWeek() + "_" + newSchedule.getOpenTime() + "_"
-          + newSchedule.getCloseTime();
-      SVCourtSchedule existingSchedule = existingSchedulesMap.get(key);
-
-      if (existingSchedule != null) {
-        result.add(existingSchedule);
-        existingSchedulesMap.remove(key);
-      } else {
-        newSchedule.setSubmittedBy(SVAuthenticationUtils.getCurrentUser());
-        result.add(scheduleRepository.save(newSchedule));
-      }
-    }
-
-    if (!existingSchedulesMap.isEmpty()) {
-      scheduleRepository.deleteAll(existingSchedulesMap.values());
-      for (SVCourtSchedule schedule : existingSchedulesMap.values()) {
-        upvoteService.deleteUpvoteByEntityId(schedule.getId());
-      }
-    }
-
-    return result;
+    return upvoteService.replaceAll(scheduleRepository, existingSchedules, newSchedules,
+        schedule -> Arrays.asList(schedule.getDayOfWeek(),
+            schedule.getOpenTime(), schedule.getCloseTime()),
+        SVAuthenticationUtils.getCurrentUser());
   }
 
   @Transactional
   public List<SVCourtPrice> updateAllPrices(UUID courtId, List<SVCourtPrice> newPrices) {
     List<SVCourtPrice> existingPrices = priceRepository.findAllByCourtId(courtId);
-    List<SVCourtPrice> result = new ArrayList<>();
-
-    Map<String, SVCourtPrice> existingPricesMap = new HashMap<>();
-    for (SVCourtPrice price : existingPrices) {
-      String key = price.getMinPrice() + "_" + price.getMaxPrice() + "_"
-          + price.getDuration() + "_" + price.getDurationUnit() + "_"
-          + (price.getDescription() != null ? price.getDescription() : "");
-      existingPricesMap.put(key, price);
-    }
-
-    for (SVCourtPrice newPrice : newPrices) {
-      newPrice.setCourtId(courtId);
-
-      String key = newPrice.getMinPrice() + "_" + newPrice.getMaxPrice() + "_"
-          + newPrice.getDuration() + "_" + newPrice.getDurationUnit() + "_"
-          + (newPrice.getDescription() != null ? newPrice.getDescription() : "");
-      SVCourtPrice existingPrice = existingPricesMap.get(key);
-
-      if (existingPrice != null) {
-        result.add(existingPrice);
-        existingPricesMap.remove(key);
-      } else {
-        newPrice.setSubmittedBy(SVAuthenticationUtils.getCurrentUser());
-        result.add(priceRepository.save(newPrice));
-      }
-    }
-
-    if (!existingPricesMap.isEmpty()) {
-      priceRepository.deleteAll(existingPricesMap.values());
-      for (SVCourtPrice price : existingPricesMap.values()) {
-        upvoteService.deleteUpvoteByEntityId(price.getId());
-      }
-    }
+    newPrices.forEach(price -> price.setCourtId(courtId));
 
-    return result;
+    return upvoteService.replaceAll(priceRepository, existingPrices, newPrices,
+        price -> Arrays.asList(price.getMinPrice(), price.getMaxPrice(),
+            price.getDuration(), price.getDurationUnit(),
+            Objects.requireNonNullElse(price.getDescription(), "")),
+        SVAuthenticationUtils.getCurrentUser());
   }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.shuttleverse.community.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.mapper.SVMapStructMapper;
+import com.shuttleverse.community.model.SVBaseModel;
+import com.shuttleverse.community.model.SVCoach;
+import com.shuttleverse.community.model.SVCourt;
+import com.shuttleverse.community.model.SVStringer;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes every court, coach or stringer with its schedules and prices as NDJSON. Rows come from a
+ * forward-only cursor and are mapped {@link SVBaseModel#ASSOCIATION_BATCH_SIZE} at a time, so the
+ * children of a whole chunk load in one query per association, and the session is cleared after
+ * each chunk to keep memory flat.
+ */
+@Slf4j
+@Service
+public class SVExportService {
+
+  private static final int FETCH_SIZE = 500;
+
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter writer;
+  private final SVMapStructMapper mapper;
+
+  public SVExportService(EntityManager entityManager,
+      PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+      SVMapStructMapper mapper) {
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.objectMapper = objectMapper;
+    this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.mapper = mapper;
+  }
+
+  public void exportEntities(SVEntityType entityType, OutputStream output) {
+    long start = System.nanoTime();
+    long exported = transactionTemplate.execute(status -> switch (entityType) {
+      case COURT -> export(SVCourt.class, mapper::toCourtResponse, output);
+      case COACH -> export(SVCoach.class, mapper::toCoachResponse, output);
+      case STRINGER -> export(SVStringer.class, mapper::toStringerResponse, output);
+    });
+    log.info("Exported {} {} rows in {} ms", exported, entityType,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private <T extends SVBaseModel> long export(Class<T> type, Function<T, ?> toResponse,
+      OutputStream output) {
+    Session session = entityManager.unwrap(Session.class);
+    String query = "select e from " + type.getSimpleName() + " e "
+        + "left join fetch e.creator left join fetch e.owner";
+    long exported = 0;
+
+    try (ScrollableResults<T> rows = session.createSelectionQuery(query, type)
+        .setReadOnly(true)
+        .setFetchSize(FETCH_SIZE)
+        .scroll(ScrollMode.FORWARD_ONLY);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      List<T> chunk = new ArrayList<>(SVBaseModel.ASSOCIATION_BATCH_SIZE);
+      while (rows.next()) {
+        chunk.add(rows.get());
+        if (chunk.size() == SVBaseModel.ASSOCIATION_BATCH_SIZE) {
+          exported += writeChunk(chunk, toResponse, generator, session);
+        }
+      }
+      exported += writeChunk(chunk, toResponse, generator, session);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return exported;
+  }
+
+  private <T> int writeChunk(List<T> chunk, Function<T, ?> toResponse, JsonGenerator generator,
+      Session session) throws IOException {
+    for (T entity : chunk) {
+      writer.writeValue(generator, toResponse.apply(entity));
+      generator.writeRaw('\n');
+    }
+    generator.flush();
+
+    int written = chunk.size();
+    chunk.clear();
+    session.clear();
+    return written;
+  }
+}
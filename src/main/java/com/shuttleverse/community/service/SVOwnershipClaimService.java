@@ -1,24 +1,43 @@
 package com.shuttleverse.community.service;
 
+import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVVerificationStatus;
+import com.shuttleverse.community.dto.SVPresignedUploadResponse;
+import com.shuttleverse.community.model.SVBaseModel;
 import com.shuttleverse.community.model.SVOwnershipClaim;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.model.SVVerificationFile;
+import com.shuttleverse.community.params.SVClaimConfirmationData;
+import com.shuttleverse.community.params.SVClaimFileParams;
 import com.shuttleverse.community.params.SVOwnershipClaimCreationData;
 import com.shuttleverse.community.repository.SVOwnershipClaimRepository;
 import com.shuttleverse.community.repository.SVVerificationFileRepository;
 import com.shuttleverse.community.resolver.SVBaseEntityResolver;
 import com.shuttleverse.community.util.SVAuthenticationUtils;
+import com.shuttleverse.community.util.SVContentHash;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
 @Slf4j
 @Service
@@ -32,6 +51,8 @@ public class SVOwnershipClaimService {
   private final SVCoachService coachService;
   private final SVCourtService courtService;
   private final SVStringerService stringerService;
+  private final SVVerificationPreviewService previewService;
+  private final TransactionTemplate transactionTemplate;
 
   public Page<SVOwnershipClaim> getClaims(Pageable pageable) {
     return ownershipClaimRepository.findAllWithCreatorAndFiles(pageable);
@@ -41,51 +62,141 @@ public class SVOwnershipClaimService {
     return ownershipClaimRepository.findAllByCreatorIdWithFilesOrderByCreatedAtDesc(userId);
   }
 
-  @Transactional
+  /**
+   * Uploads the files concurrently before any transaction opens, then saves the claim and its files
+   * in one short transaction. If saving fails the uploaded files are deleted again.
+   *
+   * <p>Files are hashed first, and a file whose content is already stored, by an earlier claim of
+   * the same user or earlier in the same request, reuses the stored object instead of being
+   * uploaded again. Objects are never shared between users, as their keys name the uploader.
+   */
   public SVOwnershipClaim createOwnershipClaim(SVOwnershipClaimCreationData data) {
     if (data.getFiles() == null || data.getFiles().isEmpty()) {
       return null;
     }
     SVUser creator = SVAuthenticationUtils.getCurrentUser();
 
-    SVOwnershipClaim claim = new SVOwnershipClaim();
-    claim.setEntityType(data.getEntityType());
-    claim.setEntityId(data.getEntityId());
-    claim.setUserNotes(data.getUserNotes());
-    claim.setCreator(creator);
-    claim.setStatus(SVVerificationStatus.PENDING);
-    claim = ownershipClaimRepository.save(claim);
+    List<MultipartFile> files = data.getFiles();
+    List<String> contentHashes = new ArrayList<>(files.size());
+    for (MultipartFile file : files) {
+      try (InputStream input = file.getInputStream()) {
+        contentHashes.add(SVContentHash.sha256(input));
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to read " + file.getOriginalFilename(), e);
+      }
+    }
 
-    List<SVVerificationFile> files = createVerificationFiles(data.getFiles(), claim, creator);
-    claim.setFiles(files);
+    Map<String, String> fileUrlsByHash = new HashMap<>();
+    verificationFileRepository.findAllByCreatorIdAndContentHashIn(creator.getId(), contentHashes)
+        .forEach(file -> fileUrlsByHash.putIfAbsent(file.getContentHash(), file.getFileUrl()));
 
-    return ownershipClaimRepository.save(claim);
+    String prefix = "claim/" + creator.getUsername() + "-" + creator.getId() + "/"
+        + UUID.randomUUID() + "/";
+    List<MultipartFile> uploads = new ArrayList<>();
+    List<String> uploadKeys = new ArrayList<>();
+    List<String> uploadHashes = new ArrayList<>();
+    for (int i = 0; i < files.size(); i++) {
+      if (!fileUrlsByHash.containsKey(contentHashes.get(i))
+          && !uploadHashes.contains(contentHashes.get(i))) {
+        uploads.add(files.get(i));
+        uploadKeys.add(prefix + UUID.randomUUID() + "-" + files.get(i).getOriginalFilename());
+        uploadHashes.add(contentHashes.get(i));
+      }
+    }
+    List<String> uploadedUrls = storageService.uploadFiles(uploads, uploadKeys);
+    for (int i = 0; i < uploadHashes.size(); i++) {
+      fileUrlsByHash.put(uploadHashes.get(i), uploadedUrls.get(i));
+    }
+
+    List<String> fileNames = files.stream().map(MultipartFile::getOriginalFilename).toList();
+    List<String> fileUrls = contentHashes.stream().map(fileUrlsByHash::get).toList();
+    try {
+      return saveClaim(data.getEntityType(), data.getEntityId(), data.getUserNotes(), creator,
+          fileNames, fileUrls, contentHashes);
+    } catch (RuntimeException e) {
+      storageService.deleteFiles(uploadKeys);
+      throw e;
+    }
   }
 
-  private List<SVVerificationFile> createVerificationFiles(List<MultipartFile> files,
-      SVOwnershipClaim claim, SVUser creator) {
-    List<SVVerificationFile> savedFiles = new ArrayList<>();
+  /**
+   * Issues presigned URLs the client uploads verification files to directly, before confirming the
+   * claim with {@link #confirmOwnershipClaim}. Keys are placed under the current user's prefix so
+   * that a confirmation can only reference the user's own uploads.
+   */
+  public List<SVPresignedUploadResponse> presignUploads(List<SVClaimFileParams> files) {
+    String prefix = uploadPrefix(SVAuthenticationUtils.getCurrentUser());
+    List<SVPresignedUploadResponse> uploads = new ArrayList<>(files.size());
+    for (SVClaimFileParams file : files) {
+      if (file.getSize() == null || file.getSize() > storageService.getMaxUploadSize()) {
+        throw new BadRequestException(
+            "File " + file.getFileName() + " is missing its size or exceeds the upload limit");
+      }
 
-    try {
-      for (MultipartFile file : files) {
-        String key =
-            "claim/" + creator.getUsername() + "-" + creator.getId() + "/" + claim.getId() + "/"
-                + UUID.randomUUID() + "-"
-                + file.getOriginalFilename();
-        String fileUrl = storageService.uploadFile(file, key);
+      String key = prefix + UUID.randomUUID() + "-" + file.getFileName();
+      PresignedPutObjectRequest presigned = storageService.presignUpload(key,
+          file.getContentType(), file.getSize());
+      Map<String, List<String>> headers = new TreeMap<>(presigned.signedHeaders());
+      headers.remove("host");
+      uploads.add(new SVPresignedUploadResponse(file.getFileName(), key,
+          presigned.url().toString(), headers, presigned.expiration()));
+    }
+    return uploads;
+  }
 
-        SVVerificationFile verificationFile = new SVVerificationFile();
-        verificationFile.setClaimId(claim.getId());
-        verificationFile.setFileName(file.getOriginalFilename());
-        verificationFile.setFileUrl(fileUrl);
+  /**
+   * Creates a claim for files uploaded through {@link #presignUploads}. Only object existence is
+   * checked against storage, so the transaction stays short whatever the file sizes.
+   */
+  public SVOwnershipClaim confirmOwnershipClaim(SVClaimConfirmationData data) {
+    SVUser creator = SVAuthenticationUtils.getCurrentUser();
+    String prefix = uploadPrefix(creator);
+    Set<String> keys = new HashSet<>();
+    for (SVClaimFileParams file : data.getFiles()) {
+      if (file.getKey() == null || !file.getKey().startsWith(prefix) || !keys.add(file.getKey())) {
+        throw new BadRequestException("Invalid upload key: " + file.getKey());
+      }
+      if (!storageService.exists(file.getKey())) {
+        throw new BadRequestException("File " + file.getFileName() + " has not been uploaded");
+      }
+    }
+
+    List<String> contentHashes = new ArrayList<>(Collections.nCopies(data.getFiles().size(), null));
+    return saveClaim(data.getEntityType(), data.getEntityId(), data.getUserNotes(), creator,
+        data.getFiles().stream().map(SVClaimFileParams::getFileName).toList(),
+        data.getFiles().stream().map(file -> storageService.publicUrl(file.getKey())).toList(),
+        contentHashes);
+  }
 
-        savedFiles.add(verificationFileRepository.save(verificationFile));
+  private SVOwnershipClaim saveClaim(SVEntityType entityType, UUID entityId, String userNotes,
+      SVUser creator, List<String> fileNames, List<String> fileUrls, List<String> contentHashes) {
+    return transactionTemplate.execute(status -> {
+      SVOwnershipClaim claim = new SVOwnershipClaim();
+      claim.setEntityType(entityType);
+      claim.setEntityId(entityId);
+      claim.setUserNotes(userNotes);
+      claim.setCreator(creator);
+      claim.setStatus(SVVerificationStatus.PENDING);
+      SVOwnershipClaim savedClaim = ownershipClaimRepository.save(claim);
+
+      List<SVVerificationFile> files = new ArrayList<>(fileUrls.size());
+      for (int i = 0; i < fileUrls.size(); i++) {
+        SVVerificationFile verificationFile = new SVVerificationFile();
+        verificationFile.setClaimId(savedClaim.getId());
+        verificationFile.setFileName(fileNames.get(i));
+        verificationFile.setFileUrl(fileUrls.get(i));
+        verificationFile.setContentHash(contentHashes.get(i));
+        files.add(verificationFile);
       }
+      savedClaim.setFiles(verificationFileRepository.saveAll(files));
+      previewService.enqueue(
+          savedClaim.getFiles().stream().map(SVVerificationFile::getId).toList());
+      return savedClaim;
+    });
+  }
 
-      return savedFiles;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+  private static String uploadPrefix(SVUser user) {
+    return "claim/" + user.getUsername() + "-" + user.getId() + "/uploads/";
   }
 
   @Transactional
@@ -111,6 +222,44 @@ public class SVOwnershipClaimService {
     return ownershipClaimRepository.save(claim);
   }
 
+  /**
+   * Approves a batch of claims in one transaction. Claims and their entities are loaded with one
+   * query per table, the owner and status changes are flushed as batched updates, and the info of
+   * the approved entities is verified with one bulk update per table.
+   */
+  @Transactional
+  public List<SVOwnershipClaim> approveClaims(List<UUID> claimIds) {
+    List<SVOwnershipClaim> claims = ownershipClaimRepository.findAllByIdWithCreatorAndFiles(
+        claimIds);
+    if (claims.size() != new HashSet<>(claimIds).size()) {
+      throw new EntityNotFoundException("Claim not found");
+    }
+
+    List<SVBaseModel> entities = baseEntityResolver.findAllById(claims,
+        SVOwnershipClaim::getEntityId, SVOwnershipClaim::getEntityType);
+    Map<SVEntityType, List<UUID>> approvedIds = new EnumMap<>(SVEntityType.class);
+    for (int i = 0; i < claims.size(); i++) {
+      SVOwnershipClaim claim = claims.get(i);
+      SVBaseModel entity = entities.get(i);
+      if (entity == null) {
+        throw new EntityNotFoundException(
+            claim.getEntityType().name().toLowerCase() + " not found with id: "
+                + claim.getEntityId());
+      }
+
+      entity.setOwner(claim.getCreator());
+      claim.setStatus(SVVerificationStatus.APPROVED);
+      approvedIds.computeIfAbsent(claim.getEntityType(), key -> new ArrayList<>())
+          .add(claim.getEntityId());
+    }
+
+    courtService.setInfoVerified(approvedIds.getOrDefault(SVEntityType.COURT, List.of()));
+    coachService.setInfoVerified(approvedIds.getOrDefault(SVEntityType.COACH, List.of()));
+    stringerService.setInfoVerified(approvedIds.getOrDefault(SVEntityType.STRINGER, List.of()));
+
+    return claims;
+  }
+
   public SVOwnershipClaim getClaimById(UUID claimId) {
     SVOwnershipClaim claim = ownershipClaimRepository.findByIdWithCreatorAndFiles(claimId);
     if (claim == null) {
@@ -0,0 +1,97 @@
+package com.shuttleverse.community.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Exports the metrics the SDK collects per storage call to Micrometer: call latency and retries
+ * per operation, and the connection pool state of each HTTP client as last reported by a call.
+ */
+class SVR2MetricPublisher implements MetricPublisher {
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+  SVR2MetricPublisher(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void publish(MetricCollection apiCall) {
+    String operation = first(apiCall, CoreMetric.OPERATION_NAME, "unknown");
+    Duration duration = first(apiCall, CoreMetric.API_CALL_DURATION, null);
+    if (duration != null) {
+      Timer.builder("shuttleverse.r2.calls")
+          .tag("operation", operation)
+          .tag("success", String.valueOf(first(apiCall, CoreMetric.API_CALL_SUCCESSFUL, false)))
+          .register(meterRegistry)
+          .record(duration);
+    }
+    int retries = first(apiCall, CoreMetric.RETRY_COUNT, 0);
+    if (retries > 0) {
+      Counter.builder("shuttleverse.r2.retries")
+          .tag("operation", operation)
+          .register(meterRegistry)
+          .increment(retries);
+    }
+
+    recordPools(apiCall);
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private void recordPools(MetricCollection collection) {
+    String client = first(collection, HttpMetric.HTTP_CLIENT_NAME, null);
+    if (client != null) {
+      Pool pool = pools.computeIfAbsent(client, this::registerPool);
+      pool.max.set(first(collection, HttpMetric.MAX_CONCURRENCY, pool.max.get()));
+      pool.available.set(first(collection, HttpMetric.AVAILABLE_CONCURRENCY, pool.available.get()));
+      pool.leased.set(first(collection, HttpMetric.LEASED_CONCURRENCY, pool.leased.get()));
+      pool.pending.set(
+          first(collection, HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pool.pending.get()));
+    }
+    collection.children().forEach(this::recordPools);
+  }
+
+  private Pool registerPool(String client) {
+    Pool pool = new Pool();
+    registerGauge("shuttleverse.r2.connections.max", client, pool.max);
+    registerGauge("shuttleverse.r2.connections.available", client, pool.available);
+    registerGauge("shuttleverse.r2.connections.leased", client, pool.leased);
+    registerGauge("shuttleverse.r2.connections.pending", client, pool.pending);
+    return pool;
+  }
+
+  private void registerGauge(String name, String client, AtomicInteger value) {
+    Gauge.builder(name, value, AtomicInteger::get)
+        .tag("client", client)
+        .register(meterRegistry);
+  }
+
+  private static <T> T first(MetricCollection collection, SdkMetric<T> metric, T fallback) {
+    List<T> values = collection.metricValues(metric);
+    return values.isEmpty() ? fallback : values.get(0);
+  }
+
+  private static final class Pool {
+
+    private final AtomicInteger max = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+  }
+}
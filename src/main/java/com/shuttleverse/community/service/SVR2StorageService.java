@@ -1,49 +1,488 @@
 package com.shuttleverse.community.service;
 
 import com.shuttleverse.community.config.SVR2Config;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
+/**
+ * Stores files in Cloudflare R2 through its S3-compatible API. Blocking callers use
+ * {@link S3Client}; the {@code *Async} methods run on a non-blocking {@link S3AsyncClient} with a
+ * bounded connection pool. Large files are sent through {@link #uploadStream} either way. Both
+ * clients share the retry policy and publish call and connection pool metrics.
+ */
+@Slf4j
 @Service
 public class SVR2StorageService {
 
   private final SVR2Config properties;
   private final S3Client s3Client;
+  private final S3AsyncClient s3AsyncClient;
+  private final S3Presigner presigner;
+  private final ExecutorService fileExecutor;
+  private final ExecutorService partExecutor;
+  private final Semaphore partBuffers;
 
-  public SVR2StorageService(SVR2Config properties) {
+  public SVR2StorageService(SVR2Config properties, MeterRegistry meterRegistry) {
     this.properties = properties;
+    URI endpoint = URI.create(properties.getEndpoint() != null ? properties.getEndpoint()
+        : "https://" + properties.getAccountId() + ".r2.cloudflarestorage.com");
+    StaticCredentialsProvider credentialsProvider = StaticCredentialsProvider.create(
+        AwsBasicCredentials.create(properties.getAccessKey(), properties.getSecretKey()));
+    BackoffStrategy backoff = FullJitterBackoffStrategy.builder()
+        .baseDelay(properties.getRetryBaseDelay())
+        .maxBackoffTime(properties.getRetryMaxBackoff())
+        .build();
+    ClientOverrideConfiguration overrides = ClientOverrideConfiguration.builder()
+        .retryPolicy(RetryPolicy.builder()
+            .numRetries(properties.getMaxRetries())
+            .backoffStrategy(backoff)
+            .throttlingBackoffStrategy(backoff)
+            .build())
+        .addMetricPublisher(new SVR2MetricPublisher(meterRegistry))
+        .build();
     this.s3Client = S3Client.builder()
         .region(Region.of("auto"))
-        .endpointOverride(
-            URI.create("https://" + properties.getAccountId() + ".r2.cloudflarestorage.com"))
-        .credentialsProvider(
-            StaticCredentialsProvider.create(
-                AwsBasicCredentials.create(properties.getAccessKey(), properties.getSecretKey())
-            )
-        )
+        .endpointOverride(endpoint)
+        .forcePathStyle(properties.getEndpoint() != null)
+        .credentialsProvider(credentialsProvider)
+        .overrideConfiguration(overrides)
+        .build();
+    this.s3AsyncClient = S3AsyncClient.builder()
+        .region(Region.of("auto"))
+        .endpointOverride(endpoint)
+        .forcePathStyle(properties.getEndpoint() != null)
+        .credentialsProvider(credentialsProvider)
+        .overrideConfiguration(overrides)
+        .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+            .maxConcurrency(properties.getMaxConnections())
+            .connectionTimeout(properties.getConnectionTimeout())
+            .connectionAcquisitionTimeout(properties.getConnectionAcquisitionTimeout())
+            .readTimeout(properties.getReadTimeout())
+            .writeTimeout(properties.getWriteTimeout()))
+        .build();
+    this.presigner = S3Presigner.builder()
+        .region(Region.of("auto"))
+        .endpointOverride(endpoint)
+        .serviceConfiguration(S3Configuration.builder()
+            .pathStyleAccessEnabled(properties.getEndpoint() != null)
+            .build())
+        .credentialsProvider(credentialsProvider)
         .build();
+    this.fileExecutor = newUploadExecutor("r2-upload-file");
+    this.partExecutor = newUploadExecutor("r2-upload-part");
+    this.partBuffers = new Semaphore(properties.getUploadConcurrency());
   }
 
   public String uploadFile(MultipartFile file, String key) {
+    if (file.getSize() >= properties.getMultipartThreshold().toBytes()) {
+      try (InputStream input = file.getInputStream()) {
+        return uploadStream(input, key, file.getContentType());
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to upload file to R2", e);
+      }
+    }
+
+    try {
+      return uploadFileAsync(file, key).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+    }
+  }
+
+  /**
+   * Uploads the file without blocking the caller. Files of at least {@code multipartThreshold} are
+   * streamed through {@link #uploadStream} on the upload pool; smaller ones go through the
+   * non-blocking client, reading the file again from the start if a request is retried.
+   */
+  public CompletableFuture<String> uploadFileAsync(MultipartFile file, String key) {
+    if (file.getSize() >= properties.getMultipartThreshold().toBytes()) {
+      return CompletableFuture.supplyAsync(() -> uploadFile(file, key), fileExecutor);
+    }
+
+    List<InputStream> opened = new CopyOnWriteArrayList<>();
+    InputStream input;
+    try {
+      input = file.getInputStream();
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(new RuntimeException("Failed to upload file to R2", e));
+    }
+    opened.add(input);
+
+    return s3AsyncClient.putObject(request -> request
+                .bucket(properties.getBucket())
+                .key(key)
+                .contentType(file.getContentType())
+                .contentLength(file.getSize()),
+            reopeningBody(file, input, opened))
+        .handle((response, failure) -> {
+          opened.forEach(stream -> closeQuietly(stream, key));
+          if (failure != null) {
+            throw new CompletionException(new RuntimeException("Failed to upload file to R2",
+                failure instanceof CompletionException ? failure.getCause() : failure));
+          }
+          return publicUrl(key);
+        });
+  }
+
+  /**
+   * Uploads the files to the matching keys concurrently; the future yields their URLs in order. If
+   * any upload fails, the future fails only after every upload has settled, and the files that did
+   * upload are deleted again.
+   */
+  public CompletableFuture<List<String>> uploadFilesAsync(List<MultipartFile> files,
+      List<String> keys) {
+    List<CompletableFuture<String>> uploads = new ArrayList<>(files.size());
+    for (int i = 0; i < files.size(); i++) {
+      uploads.add(uploadFileAsync(files.get(i), keys.get(i)));
+    }
+
+    return CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new))
+        .handle((ignored, failure) -> {
+          if (failure == null) {
+            return uploads.stream().map(CompletableFuture::join).toList();
+          }
+
+          List<String> uploadedKeys = new ArrayList<>();
+          for (int i = 0; i < uploads.size(); i++) {
+            if (!uploads.get(i).isCompletedExceptionally()) {
+              uploadedKeys.add(keys.get(i));
+            }
+          }
+          deleteFiles(uploadedKeys);
+          throw failure instanceof CompletionException completion ? completion
+              : new CompletionException(failure);
+        });
+  }
+
+  public List<String> uploadFiles(List<MultipartFile> files, List<String> keys) {
+    try {
+      return uploadFilesAsync(files, keys).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+    }
+  }
+
+  /**
+   * Deletes the objects on a best-effort basis; keys that cannot be deleted are logged. The future
+   * never fails.
+   */
+  public CompletableFuture<Void> deleteFiles(Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    List<ObjectIdentifier> objects = keys.stream()
+        .map(key -> ObjectIdentifier.builder().key(key).build())
+        .toList();
+    return s3AsyncClient.deleteObjects(request -> request
+            .bucket(properties.getBucket())
+            .delete(delete -> delete.objects(objects).quiet(true)))
+        .handle((response, failure) -> {
+          if (failure != null) {
+            log.error("Failed to delete {} from R2", keys, failure);
+          } else {
+            response.errors().forEach(error -> log.error("Failed to delete {} from R2: {}",
+                error.key(), error.message()));
+          }
+          return null;
+        });
+  }
+
+  /**
+   * Uploads a stream of unknown length as a multipart upload. The stream is cut into parts of
+   * {@code partSize} that are uploaded in parallel; reading blocks while {@code uploadConcurrency}
+   * parts are buffered across all uploads. If any step fails the upload is aborted, so R2 keeps no
+   * orphaned parts.
+   */
+  public String uploadStream(InputStream input, String key, String contentType) {
+    String uploadId = s3Client.createMultipartUpload(request -> request
+        .bucket(properties.getBucket())
+        .key(key)
+        .contentType(contentType)).uploadId();
+    List<Future<CompletedPart>> parts = new ArrayList<>();
+
+    try {
+      int partSize = Math.toIntExact(properties.getPartSize().toBytes());
+      boolean lastPart = false;
+      for (int partNumber = 1; !lastPart; partNumber++) {
+        throwIfAnyFailed(parts);
+        partBuffers.acquire();
+        byte[] buffer;
+        int length;
+        try {
+          buffer = new byte[partSize];
+          length = input.readNBytes(buffer, 0, partSize);
+        } catch (IOException | RuntimeException | Error e) {
+          partBuffers.release();
+          throw e;
+        }
+        lastPart = length < partSize;
+        if (length == 0 && partNumber > 1) {
+          partBuffers.release();
+          break;
+        }
+        parts.add(partExecutor.submit(uploadPart(key, uploadId, partNumber, buffer, length)));
+      }
+
+      List<CompletedPart> completedParts = new ArrayList<>(parts.size());
+      for (Future<CompletedPart> part : parts) {
+        completedParts.add(part.get());
+      }
+      s3Client.completeMultipartUpload(request -> request
+          .bucket(properties.getBucket())
+          .key(key)
+          .uploadId(uploadId)
+          .multipartUpload(upload -> upload.parts(completedParts)));
+
+      return publicUrl(key);
+
+    } catch (Exception e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      // Parts still running could land after the abort and leave storage behind, so they are
+      // allowed to settle first. Cancelling them instead would also leak their buffer permits.
+      awaitQuietly(parts);
+      abort(key, uploadId);
+      throw new RuntimeException("Failed to upload file to R2",
+          e instanceof ExecutionException ? e.getCause() : e);
+    }
+  }
+
+  /**
+   * Returns a URL the client can PUT the file to directly. Content type and length are part of the
+   * signature, so storage rejects an upload that differs from what was requested.
+   */
+  public PresignedPutObjectRequest presignUpload(String key, String contentType,
+      long contentLength) {
+    return presigner.presignPutObject(request -> request
+        .signatureDuration(properties.getPresignExpiry())
+        .putObjectRequest(put -> put
+            .bucket(properties.getBucket())
+            .key(key)
+            .contentType(contentType)
+            .contentLength(contentLength)));
+  }
+
+  public boolean exists(String key) {
+    try {
+      s3Client.headObject(request -> request.bucket(properties.getBucket()).key(key));
+      return true;
+    } catch (NoSuchKeyException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Opens the stored object for reading. Closing the stream early aborts the download.
+   */
+  public InputStream download(String key) {
+    return s3Client.getObject(request -> request.bucket(properties.getBucket()).key(key));
+  }
+
+  public String uploadBytes(byte[] bytes, String key, String contentType) {
     try {
       s3Client.putObject(PutObjectRequest.builder()
               .bucket(properties.getBucket())
               .key(key)
-              .contentType(file.getContentType())
+              .contentType(contentType)
               .build(),
-          RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+          RequestBody.fromBytes(bytes));
 
-      return properties.getPublicBaseUrl() + "/" + key;
+      return publicUrl(key);
 
     } catch (Exception e) {
       throw new RuntimeException("Failed to upload file to R2", e);
     }
   }
+
+  public String publicUrl(String key) {
+    return properties.getPublicBaseUrl() + "/" + key;
+  }
+
+  /**
+   * Returns the key of an object given its {@link #publicUrl}, or {@code null} if the URL does not
+   * point into the bucket.
+   */
+  public String keyOf(String url) {
+    String prefix = properties.getPublicBaseUrl() + "/";
+    return url != null && url.startsWith(prefix) ? url.substring(prefix.length()) : null;
+  }
+
+  public long getMaxUploadSize() {
+    return properties.getMaxUploadSize().toBytes();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    fileExecutor.shutdown();
+    partExecutor.shutdown();
+    presigner.close();
+    s3Client.close();
+    s3AsyncClient.close();
+  }
+
+  private ExecutorService newUploadExecutor(String name) {
+    return Executors.newFixedThreadPool(properties.getUploadConcurrency(), runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Uploads one buffered part. The body reopens the buffer on every attempt, so the client can
+   * retry the part without reading the source stream again.
+   */
+  private Callable<CompletedPart> uploadPart(String key, String uploadId,
+      int partNumber, byte[] buffer, int length) {
+    return () -> {
+      try {
+        String eTag = s3Client.uploadPart(request -> request
+                .bucket(properties.getBucket())
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) length),
+            RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length),
+                length, "application/octet-stream"))
+            .eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+      } finally {
+        partBuffers.release();
+      }
+    };
+  }
+
+  private static void throwIfAnyFailed(List<Future<CompletedPart>> parts)
+      throws ExecutionException, InterruptedException {
+    for (Future<CompletedPart> part : parts) {
+      if (part.isDone()) {
+        part.get();
+      }
+    }
+  }
+
+  private static void awaitQuietly(List<Future<CompletedPart>> parts) {
+    boolean interrupted = Thread.interrupted();
+    for (Future<CompletedPart> part : parts) {
+      while (true) {
+        try {
+          part.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void abort(String key, String uploadId) {
+    try {
+      s3Client.abortMultipartUpload(request -> request
+          .bucket(properties.getBucket())
+          .key(key)
+          .uploadId(uploadId));
+    } catch (RuntimeException e) {
+      log.error("Failed to abort multipart upload {} of {}", uploadId, key, e);
+    }
+  }
+
+  /**
+   * Returns a body that reads {@code first} on the first attempt and opens the file again for each
+   * retry, since a stream that was partly sent cannot be rewound. Every stream opened is added to
+   * {@code opened} for the caller to close.
+   */
+  private AsyncRequestBody reopeningBody(MultipartFile file, InputStream first,
+      List<InputStream> opened) {
+    return new AsyncRequestBody() {
+      private boolean subscribed;
+
+      @Override
+      public Optional<Long> contentLength() {
+        return Optional.of(file.getSize());
+      }
+
+      @Override
+      public synchronized void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        InputStream input = first;
+        if (subscribed) {
+          try {
+            input = file.getInputStream();
+          } catch (IOException e) {
+            subscriber.onSubscribe(new Subscription() {
+              @Override
+              public void request(long n) {
+              }
+
+              @Override
+              public void cancel() {
+              }
+            });
+            subscriber.onError(e);
+            return;
+          }
+          opened.add(input);
+        }
+        subscribed = true;
+        AsyncRequestBody.fromInputStream(input, file.getSize(), fileExecutor)
+            .subscribe(subscriber);
+      }
+    };
+  }
+
+  private static void closeQuietly(InputStream input, String key) {
+    try {
+      input.close();
+    } catch (IOException e) {
+      log.debug("Failed to close upload stream of {}", key, e);
+    }
+  }
 }
@@ -1,9 +1,14 @@
 package com.shuttleverse.community.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
+import com.shuttleverse.community.api.SVCursorPage;
+import com.shuttleverse.community.cache.SVGeoQueryCache;
+import com.shuttleverse.community.cache.SVSpatialIndex;
+import com.shuttleverse.community.cache.SVTileCache;
 import com.shuttleverse.community.constants.SVEntityType;
-import com.shuttleverse.community.constants.SVInfoType;
+import com.shuttleverse.community.constants.SVSortDirection;
 import com.shuttleverse.community.constants.SVSortType;
 import com.shuttleverse.community.dto.SVLocationDto;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
@@ -11,29 +16,30 @@ import com.shuttleverse.community.model.SVStringer;
 import com.shuttleverse.community.model.SVStringerPrice;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.SVBoundingBoxParams;
+import com.shuttleverse.community.params.SVDistanceCursor;
 import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVNearestParams;
 import com.shuttleverse.community.params.SVSortParams;
 import com.shuttleverse.community.params.SVStringerCreationData;
 import com.shuttleverse.community.params.SVWithinDistanceParams;
 import com.shuttleverse.community.query.SVQueryFactory;
 import com.shuttleverse.community.query.SVQueryModel;
+import com.shuttleverse.community.repository.SVMapClusterProjection;
 import com.shuttleverse.community.repository.SVStringerPriceRepository;
 import com.shuttleverse.community.repository.SVStringerRepository;
 import com.shuttleverse.community.util.SVAuthenticationUtils;
 import com.shuttleverse.community.util.SVQueryUtils;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import jakarta.ws.rs.BadRequestException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +48,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class SVStringerService {
 
   private final SVMapStructMapper mapper;
+  private final SVTileCache tileCache;
+  private final SVGeoQueryCache geoQueryCache;
+  private final SVSpatialIndex spatialIndex;
   private final SVStringerRepository stringerRepository;
   private final SVStringerPriceRepository priceRepository;
   private final SVUpvoteService upvoteService;
@@ -50,7 +59,11 @@ public class SVStringerService {
   @Transactional
   public SVStringer createStringer(SVStringer stringer, SVUser creator) {
     stringer.setCreator(creator);
-    return stringerRepository.save(stringer);
+    tileCache.evict(stringer.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.STRINGER, stringer.getLocationPoint());
+    SVStringer saved = stringerRepository.save(stringer);
+    spatialIndex.put(SVEntityType.STRINGER, saved.getId(), saved.getLocationPoint());
+    return saved;
   }
 
   public SVStringer getStringer(UUID id) {
@@ -61,70 +74,159 @@ public class SVStringerService {
   @Transactional(readOnly = true)
   public Page<SVStringer> getAllStringers(SVEntityFilterParams params, SVSortParams sortParams,
       Pageable pageable) {
-    List<UUID> ids = findStringersByPrice(params);
+    BooleanExpression predicate = buildFilterPredicate(params);
 
-    BooleanExpression predicate = SVQueryModel.stringer.id.in(ids);
+    return queryFactory.getPage(buildSortedQuery(predicate, sortParams), pageable,
+        () -> queryFactory.getQueryCount(SVQueryModel.stringer, predicate));
+  }
 
-    if (params.getIsVerified() != null) {
-      predicate = predicate.and(SVQueryModel.stringer.owner.isNotNull());
+  @Transactional(readOnly = true)
+  public Slice<SVStringer> getAllStringersSlice(SVEntityFilterParams params,
+      SVSortParams sortParams, Pageable pageable) {
+    return queryFactory.getSlice(buildSortedQuery(buildFilterPredicate(params), sortParams),
+        pageable);
+  }
+
+  private List<UUID> findIdsWithinBounds(SVBoundingBoxParams params) {
+    return geoQueryCache.findWithinBounds(SVEntityType.STRINGER, params.getMinLon(),
+        params.getMinLat(), params.getMaxLon(), params.getMaxLat(),
+        bounds -> spatialIndex.isAvailable()
+            ? spatialIndex.findWithinBounds(SVEntityType.STRINGER, bounds.getMinX(),
+                bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY())
+            : stringerRepository.findLocationsWithinBounds(bounds.getMinX(), bounds.getMinY(),
+                bounds.getMaxX(), bounds.getMaxY()));
+  }
+
+  private List<UUID> findIdsWithinDistance(SVWithinDistanceParams params) {
+    return geoQueryCache.findWithinDistance(SVEntityType.STRINGER, params.getLocation(),
+        params.getDistance(), (location, distance) -> spatialIndex.isAvailable()
+            ? spatialIndex.findWithinDistance(SVEntityType.STRINGER, location, distance)
+            : stringerRepository.findLocationsWithinDistance(location, distance));
+  }
+
+  private JPAQuery<SVStringer> buildSortedQuery(BooleanExpression predicate,
+      SVSortParams sortParams) {
+    JPAQuery<SVStringer> query = queryFactory.getQuery(SVQueryModel.stringer, predicate);
+
+    if (sortParams.getSortType() == SVSortType.NAME) {
+      return query.orderBy(
+          SVQueryUtils.orderByName(SVQueryModel.stringer.name, sortParams.getSortDirection()));
     }
 
-    if (sortParams.getSortType() != SVSortType.LOCATION) {
-      Pageable sortedPageable = PageRequest.of(
-          pageable.getPageNumber(),
-          pageable.getPageSize(),
-          sortParams.getSortDirection().toPagableDirection(),
-          sortParams.getSortType().toPageableProperty());
-      return stringerRepository.findAll(predicate, sortedPageable);
+    Point location = mapper.locationDtoToPoint(
+        new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude()));
+    if (sortParams.getSortType() == SVSortType.TRENDING) {
+      // Distance only breaks ties in score, which in practice orders the entities nobody has
+      // voted on; the id keeps pages stable when that ties too.
+      return query.orderBy(
+          SVQueryUtils.orderByTrending(SVQueryModel.stringer.trendingScore,
+              sortParams.getSortDirection()),
+          SVQueryUtils.orderByDistance(SVQueryModel.stringer.locationPoint, location,
+              SVSortDirection.ASC),
+          SVQueryModel.stringer.id.asc());
     }
 
-    JPAQuery<SVStringer> query = queryFactory.getQuery(SVQueryModel.stringer, predicate)
-        .orderBy(SVQueryUtils.orderByDistance(SVQueryModel.stringer.locationPoint,
-            mapper.locationDtoToPoint(new SVLocationDto(sortParams.getLongitude(),
-                sortParams.getLatitude())),
-            sortParams.getSortDirection()));
+    return query.orderBy(SVQueryUtils.orderByDistance(SVQueryModel.stringer.locationPoint, location,
+        sortParams.getSortDirection()));
+  }
+
+  @Transactional(readOnly = true)
+  public List<SVMapClusterProjection> getStringerClusters(SVBoundingBoxParams params, int zoom) {
+    return stringerRepository.findClustersWithinBounds(params.getMinLon(), params.getMinLat(),
+        params.getMaxLon(), params.getMaxLat(), SVQueryUtils.clusterCellSize(zoom));
+  }
 
-    Long queryCount = queryFactory.getQueryCount(SVQueryModel.stringer, predicate);
+  @Transactional(readOnly = true)
+  public List<SVStringer> getNearestStringers(SVNearestParams params) {
+    return stringerRepository.findNearest(
+        mapper.locationDtoToPoint(
+            new SVLocationDto(params.getLongitude(), params.getLatitude())),
+        params.getK());
+  }
 
-    return PageableExecutionUtils.getPage(
-        query.offset(pageable.getOffset())
-            .limit(pageable.getPageSize())
-            .fetch(),
-        pageable,
-        () -> queryCount);
+  @Transactional(readOnly = true)
+  public SVCursorPage<SVStringer> getAllStringersByCursor(SVEntityFilterParams params,
+      SVSortParams sortParams, SVDistanceCursor cursor, int size) {
+    if (sortParams.getSortType() != SVSortType.LOCATION) {
+      throw new BadRequestException("Cursor pagination is only supported for location sort");
+    }
+
+    return queryFactory.getDistanceCursorPage(SVQueryModel.stringer, SVQueryModel.stringer.id,
+        SVQueryModel.stringer.locationPoint, buildFilterPredicate(params),
+        mapper.locationDtoToPoint(
+            new SVLocationDto(sortParams.getLongitude(), sortParams.getLatitude())),
+        sortParams.getSortDirection(), cursor, size);
   }
 
-  private List<UUID> findStringersByPrice(SVEntityFilterParams params) {
-    Set<UUID> result = new HashSet<>();
-    BooleanExpression pricePredicate = SVQueryModel.stringerPrice.price.between(
-        params.getMinPrice(),
-        params.getMaxPrice());
-    priceRepository.findAll(pricePredicate).forEach(price -> {
-      result.add(price.getStringerId());
-    });
+  private BooleanExpression buildFilterPredicate(SVEntityFilterParams params) {
+    BooleanExpression predicate = JPAExpressions.selectOne()
+        .from(SVQueryModel.stringerPrice)
+        .where(SVQueryModel.stringerPrice.stringerId.eq(SVQueryModel.stringer.id)
+            .and(SVQueryModel.stringerPrice.price.between(params.getMinPrice(),
+                params.getMaxPrice())))
+        .exists();
 
-    return new ArrayList<>(result);
+    if (params.getIsVerified() != null) {
+      predicate = predicate.and(SVQueryModel.stringer.owner.isNotNull());
+    }
+
+    return predicate;
   }
 
   @Transactional(readOnly = true)
   public Page<SVStringer> getCourtsByBoundingBox(SVBoundingBoxParams params, Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getPageByIds(SVQueryModel.stringer, SVQueryModel.stringer.id,
+          findIdsWithinBounds(params), pageable);
+    }
     return stringerRepository.findWithinBounds(params.getMinLon(), params.getMinLat(),
         params.getMaxLon(), params.getMaxLat(), pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<SVStringer> getCourtsByBoundingBoxSlice(SVBoundingBoxParams params,
+      Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getSliceByIds(SVQueryModel.stringer, SVQueryModel.stringer.id,
+          findIdsWithinBounds(params), pageable);
+    }
+    return stringerRepository.findSliceWithinBounds(params.getMinLon(), params.getMinLat(),
+        params.getMaxLon(), params.getMaxLat(), pageable);
+  }
+
   @Transactional(readOnly = true)
   public Page<SVStringer> getStringersWithinDistance(SVWithinDistanceParams params,
       Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getPageByIds(SVQueryModel.stringer, SVQueryModel.stringer.id,
+          findIdsWithinDistance(params), pageable);
+    }
     return stringerRepository.findWithinDistance(params.getLocation(), params.getDistance(),
         pageable);
   }
 
+  @Transactional(readOnly = true)
+  public Slice<SVStringer> getStringersWithinDistanceSlice(SVWithinDistanceParams params,
+      Pageable pageable) {
+    if (geoQueryCache.isEnabled() || spatialIndex.isAvailable()) {
+      return queryFactory.getSliceByIds(SVQueryModel.stringer, SVQueryModel.stringer.id,
+          findIdsWithinDistance(params), pageable);
+    }
+    return stringerRepository.findSliceWithinDistance(params.getLocation(), params.getDistance(),
+        pageable);
+  }
+
   @Transactional
   public SVStringer updateStringer(UUID id, SVStringerCreationData data) {
     SVStringer stringer = stringerRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Stringer not found"));
 
+    tileCache.evict(stringer.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.STRINGER, stringer.getLocationPoint());
     mapper.updateStringerFromDto(data, stringer);
+    tileCache.evict(stringer.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.STRINGER, stringer.getLocationPoint());
+    spatialIndex.put(SVEntityType.STRINGER, stringer.getId(), stringer.getLocationPoint());
 
     return stringerRepository.save(stringer);
   }
@@ -133,6 +235,9 @@ public class SVStringerService {
   public void deleteStringer(UUID id) {
     SVStringer stringer = getStringer(id);
     stringerRepository.delete(stringer);
+    tileCache.evict(stringer.getLocationPoint());
+    geoQueryCache.evict(SVEntityType.STRINGER, stringer.getLocationPoint());
+    spatialIndex.remove(SVEntityType.STRINGER, id);
   }
 
   @Transactional
@@ -156,31 +261,26 @@ public class SVStringerService {
 
   @Transactional
   public SVStringerPrice upvotePrice(UUID priceId, SVUser creator) {
-    SVStringerPrice price = this.upvotePrice(priceId);
-
-    this.upvoteService.addUpvote(SVEntityType.STRINGER, SVInfoType.PRICE, priceId,
-        creator);
-
-    return price;
-  }
+    upvoteService.addUpvote(priceRepository, priceId, creator);
 
-  @Transactional
-  public SVStringerPrice upvotePrice(UUID priceId) {
-    SVStringerPrice price = priceRepository.findById(priceId)
+    return priceRepository.findById(priceId)
         .orElseThrow(() -> new EntityNotFoundException("Price not found"));
-    price.setUpvotes(price.getUpvotes() + 1);
-
-    return priceRepository.save(price);
   }
 
   @Transactional
   public void setInfoVerified(UUID stringerId) {
-    List<SVStringerPrice> prices = priceRepository.findAllByStringerId(stringerId);
+    setInfoVerified(List.of(stringerId));
+  }
 
-    for (SVStringerPrice price : prices) {
-      price.setIsVerified(true);
+  /**
+   * Marks every price of the given stringers as verified with one update statement.
+   */
+  @Transactional
+  public void setInfoVerified(Collection<UUID> stringerIds) {
+    if (stringerIds.isEmpty()) {
+      return;
     }
-    priceRepository.saveAll(prices);
+    priceRepository.setVerifiedByStringerIdIn(stringerIds);
   }
 
   public boolean isSessionUserOwner(String stringerId) {
@@ -200,37 +300,11 @@ public class SVStringerService {
   @Transactional
   public List<SVStringerPrice> updateAllPrices(UUID stringerId, List<SVStringerPrice> newPrices) {
     List<SVStringerPrice> existingPrices = priceRepository.findAllByStringerId(stringerId);
-    List<SVStringerPrice> result = new ArrayList<>();
-
-    Map<String, SVStringerPrice> existingPricesMap = new HashMap<>();
-    for (SVStringerPrice price : existingPrices) {
-      String key = price.getStringName() + "_" + price.getPrice();
-      existingPricesMap.put(key, price);
-    }
-
-    for (SVStringerPrice newPrice : newPrices) {
-      newPrice.setStringerId(stringerId);
-
-      String key = newPrice.getStringName() + "_" + newPrice.getPrice();
-      SVStringerPrice existingPrice = existingPricesMap.get(key);
-
-      if (existingPrice != null) {
-        result.add(existingPrice);
-        existingPricesMap.remove(key);
-      } else {
-        newPrice.setSubmittedBy(SVAuthenticationUtils.getCurrentUser());
-        result.add(priceRepository.save(newPrice));
-      }
-    }
-
-    if (!existingPricesMap.isEmpty()) {
-      priceRepository.deleteAll(existingPricesMap.values());
-      for (SVStringerPrice price : existingPricesMap.values()) {
-        upvoteService.deleteUpvoteByEntityId(price.getId());
-      }
-    }
+    newPrices.forEach(price -> price.setStringerId(stringerId));
 
-    return result;
+    return upvoteService.replaceAll(priceRepository, existingPrices, newPrices,
+        price -> Arrays.asList(price.getStringName(), price.getPrice()),
+        SVAuthenticationUtils.getCurrentUser());
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.shuttleverse.community.service;
+
+import com.shuttleverse.community.cache.SVTileCache;
+import com.shuttleverse.community.config.SVTileConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class SVTileService {
+
+  private static final String TILE_QUERY = """
+      WITH bounds AS (
+        SELECT ST_TileEnvelope(:z, :x, :y) AS tile,
+               ST_Transform(ST_TileEnvelope(:z, :x, :y), 4326) AS envelope
+      ),
+      court AS (
+        SELECT ST_AsMVTGeom(ST_Transform(c.location_point, 3857), bounds.tile) AS geom,
+               c.id::text AS id, c.name
+        FROM public.court c, bounds
+        WHERE c.location_point && bounds.envelope
+      ),
+      coach AS (
+        SELECT ST_AsMVTGeom(ST_Transform(c.location_point, 3857), bounds.tile) AS geom,
+               c.id::text AS id, c.name
+        FROM public.coach c, bounds
+        WHERE c.location_point && bounds.envelope
+      ),
+      stringer AS (
+        SELECT ST_AsMVTGeom(ST_Transform(s.location_point, 3857), bounds.tile) AS geom,
+               s.id::text AS id, s.name
+        FROM public.stringer s, bounds
+        WHERE s.location_point && bounds.envelope
+      )
+      SELECT COALESCE((SELECT ST_AsMVT(court, 'court', 4096, 'geom') FROM court), ''::bytea)
+          || COALESCE((SELECT ST_AsMVT(coach, 'coach', 4096, 'geom') FROM coach), ''::bytea)
+          || COALESCE((SELECT ST_AsMVT(stringer, 'stringer', 4096, 'geom') FROM stringer),
+              ''::bytea)
+      """;
+
+  private final EntityManager entityManager;
+  private final SVTileCache tileCache;
+  private final SVTileConfig tileConfig;
+
+  @Transactional(readOnly = true)
+  public byte[] getTile(int z, int x, int y) {
+    if (z < 0 || z > tileConfig.getMaxZoom()) {
+      throw new BadRequestException("Zoom must be between 0 and " + tileConfig.getMaxZoom());
+    }
+    int n = 1 << z;
+    if (x < 0 || x >= n || y < 0 || y >= n) {
+      throw new BadRequestException("Tile coordinates out of range for zoom " + z);
+    }
+
+    byte[] tile = tileCache.get(z, x, y);
+    if (tile != null) {
+      return tile;
+    }
+
+    long generation = tileCache.generation();
+    tile = (byte[]) entityManager.createNativeQuery(TILE_QUERY)
+        .setParameter("z", z)
+        .setParameter("x", x)
+        .setParameter("y", y)
+        .getSingleResult();
+    tileCache.put(z, x, y, tile, generation);
+
+    return tile;
+  }
+}
@@ -1,20 +1,38 @@
 package com.shuttleverse.community.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.shuttleverse.community.cache.SVUpvoteBuffer;
+import com.shuttleverse.community.cache.SVVotedIdCache;
 import com.shuttleverse.community.constants.SVEntityType;
 import com.shuttleverse.community.constants.SVInfoType;
 import com.shuttleverse.community.dto.SVUpvoteResponse;
 import com.shuttleverse.community.mapper.SVMapStructMapper;
+import com.shuttleverse.community.model.SVBaseUpvotable;
 import com.shuttleverse.community.model.SVUpvote;
 import com.shuttleverse.community.model.SVUser;
 import com.shuttleverse.community.params.UpvoteParams;
 import com.shuttleverse.community.query.SVQueryModel;
+import com.shuttleverse.community.repository.SVUpvotableRepository;
 import com.shuttleverse.community.repository.SVUpvoteRepository;
+import com.shuttleverse.community.resolver.SVBaseEntityResolver;
 import com.shuttleverse.community.resolver.SVUpvotableEntityResolver;
+import com.shuttleverse.community.util.SVTrendingScore;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,21 +44,45 @@ public class SVUpvoteService {
 
   private final SVUpvoteRepository upvoteRepository;
   private final SVUpvotableEntityResolver upvotableEntityResolver;
+  private final SVBaseEntityResolver baseEntityResolver;
   private final SVMapStructMapper mapper;
+  private final SVUpvoteBuffer upvoteBuffer;
+  private final SVVotedIdCache votedIdCache;
 
+  /**
+   * Records the creator's vote, counts it against the voted row and folds it into the trending
+   * score of the court, coach or stringer the row belongs to. The vote insert is guarded by the
+   * unique (user_id, entity_id) index. The counters are either handed to the write-behind
+   * {@link SVUpvoteBuffer} or updated in the database in the same transaction.
+   */
   @Transactional
-  public void addUpvote(SVEntityType badmintonEntityType,
-      SVInfoType badmintonInfoType, UUID entityId, SVUser creator) {
-    if (upvoteRepository.findByUpvoteCreatorAndEntityId(creator, entityId).isPresent()) {
+  public void addUpvote(SVUpvotableRepository<?> repository, UUID entityId, SVUser creator) {
+    SVBaseUpvotable entity = repository.findById(entityId)
+        .orElseThrow(() -> notFound(repository, entityId));
+
+    int inserted = upvoteRepository.insertIfAbsent(repository.getEntityType().name(),
+        repository.getInfoType().name(), creator.getId(), entityId);
+    if (inserted == 0) {
       throw new IllegalStateException("Upvote already exists");
     }
 
-    SVUpvote upvote = new SVUpvote();
-    upvote.setEntityType(badmintonEntityType);
-    upvote.setInfoType(badmintonInfoType);
-    upvote.setEntityId(entityId);
-    upvote.setUpvoteCreator(creator);
-    upvoteRepository.save(upvote);
+    if (upvoteBuffer.isEnabled()) {
+      upvoteBuffer.increment(repository.getEntityType(), repository.getInfoType(), entityId,
+          entity.getParentId());
+      // The loaded instance was overlaid before this vote and is what later reads in this
+      // transaction get back; the column is not updatable, so this is never written.
+      entity.setUpvotes(entity.getUpvotes() + 1);
+    } else {
+      repository.addUpvotes(entityId, 1);
+      baseEntityResolver.getRepository(repository.getEntityType())
+          .addTrendingWeight(entity.getParentId(), SVTrendingScore.weight(Instant.now(), 1));
+    }
+    votedIdCache.add(creator.getId(), entityId);
+  }
+
+  private EntityNotFoundException notFound(SVUpvotableRepository<?> repository, UUID entityId) {
+    return new EntityNotFoundException(
+        repository.getInfoType().name().toLowerCase() + " not found with id: " + entityId);
   }
 
   @Transactional(readOnly = true)
@@ -52,16 +94,46 @@ public class SVUpvoteService {
         .and(SVQueryModel.upvote.infoType.eq(infoType));
 
     Page<SVUpvote> upvotes = upvoteRepository.findAll(predicate, pageable);
-    return upvotes.map(this::toUpvoteResponse);
+    List<SVBaseUpvotable> entities = upvotableEntityResolver.findAllById(upvotes.getContent(),
+        SVUpvote::getEntityId, SVUpvote::getEntityType, SVUpvote::getInfoType);
+
+    List<SVUpvoteResponse> responses = new ArrayList<>(entities.size());
+    for (int i = 0; i < entities.size(); i++) {
+      responses.add(toUpvoteResponse(upvotes.getContent().get(i), entities.get(i)));
+    }
+    return new PageImpl<>(responses, upvotes.getPageable(), upvotes.getTotalElements());
   }
 
-  private SVUpvoteResponse toUpvoteResponse(SVUpvote upvote) {
+  /**
+   * Returns which of the given entities the user has voted on, preserving the request order.
+   */
+  @Transactional(readOnly = true)
+  public Set<UUID> getVotedEntityIds(SVUser user, List<UUID> entityIds) {
+    if (votedIdCache.isEnabled()) {
+      Set<UUID> voted = votedIdCache.findVoted(user.getId(), entityIds,
+          userId -> upvoteRepository.findAllVotedEntityIds(userId,
+              PageRequest.of(0, votedIdCache.getMaxIdsPerUser() + 1)));
+      if (voted != null) {
+        return voted;
+      }
+    }
+
+    Set<UUID> voted = Set.copyOf(upvoteRepository.findVotedEntityIds(user.getId(), entityIds));
+    Set<UUID> result = new LinkedHashSet<>();
+    for (UUID entityId : entityIds) {
+      if (voted.contains(entityId)) {
+        result.add(entityId);
+      }
+    }
+    return result;
+  }
+
+  private SVUpvoteResponse toUpvoteResponse(SVUpvote upvote, SVBaseUpvotable entity) {
     return SVUpvoteResponse.builder()
         .upvoteId(upvote.getUpvoteId())
         .entityType(upvote.getEntityType())
         .infoType(upvote.getInfoType())
-        .entity(upvotableEntityResolver.findById(upvote.getEntityId(), upvote.getEntityType(),
-            upvote.getInfoType()))
+        .entity(entity)
         .upvoteCreator(mapper.userToUserDto(upvote.getUpvoteCreator()))
         .createdAt(upvote.getCreatedAt())
         .build();
@@ -69,6 +141,58 @@ public class SVUpvoteService {
 
   @Transactional
   public void deleteUpvoteByEntityId(UUID entityId) {
+    List<UUID> voterIds = upvoteRepository.findVoterIds(List.of(entityId));
     upvoteRepository.deleteByEntityId(entityId);
+    votedIdCache.invalidate(voterIds);
+  }
+
+  @Transactional
+  public void deleteUpvotesByEntityIds(Collection<UUID> entityIds) {
+    if (entityIds.isEmpty()) {
+      return;
+    }
+    List<UUID> voterIds = upvoteRepository.findVoterIds(entityIds);
+    upvoteRepository.deleteAllByEntityIdIn(entityIds);
+    votedIdCache.invalidate(voterIds);
+  }
+
+  /**
+   * Replaces the current rows with {@code replacements}, matching them by {@code keyOf}. Matched
+   * rows are kept along with their votes, unmatched replacements are inserted as submitted by
+   * {@code submitter}, and the remaining current rows are deleted together with their votes.
+   *
+   * <p>The whole replacement costs one batched insert, one bulk delete, one voter lookup and one
+   * bulk vote delete regardless of the list sizes. Returns the resulting rows in the order of
+   * {@code replacements}.
+   */
+  @Transactional
+  public <T extends SVBaseUpvotable, K> List<T> replaceAll(SVUpvotableRepository<T> repository,
+      List<T> current, List<T> replacements, Function<T, K> keyOf, SVUser submitter) {
+    Map<K, T> stale = new HashMap<>();
+    for (T row : current) {
+      stale.put(keyOf.apply(row), row);
+    }
+
+    List<T> result = new ArrayList<>(replacements.size());
+    List<T> inserts = new ArrayList<>();
+    for (T replacement : replacements) {
+      T existing = stale.remove(keyOf.apply(replacement));
+      if (existing != null) {
+        result.add(existing);
+      } else {
+        replacement.setSubmittedBy(submitter);
+        inserts.add(replacement);
+        result.add(replacement);
+      }
+    }
+
+    repository.saveAll(inserts);
+    if (!stale.isEmpty()) {
+      List<UUID> staleIds = stale.values().stream().map(SVBaseUpvotable::getId).toList();
+      repository.deleteAllByIdInBatch(staleIds);
+      deleteUpvotesByEntityIds(staleIds);
+    }
+
+    return result;
   }
 }
@@ -0,0 +1,207 @@
+package com.shuttleverse.community.service;
+
+import com.shuttleverse.community.config.SVPreviewConfig;
+import com.shuttleverse.community.constants.SVPreviewStatus;
+import com.shuttleverse.community.model.SVVerificationFile;
+import com.shuttleverse.community.repository.SVVerificationFileRepository;
+import com.shuttleverse.community.util.SVImagePreview;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates compressed previews of image verification files in the background, so the admin
+ * review queue does not load the originals.
+ *
+ * <p>The database is the queue of record: every file starts out {@code PENDING}. Stored files are
+ * handed to a fixed pool of workers through a bounded in-memory queue once their claim commits.
+ * When the workers fall behind and the queue is full, the file is not waited for; it stays pending
+ * and a periodic sweep feeds it to the workers as the queue drains. Failed files are retried by the
+ * same sweep with exponential backoff.
+ *
+ * <p>Several instances may sweep the same table, so a worker first leases the file by moving it to
+ * {@code IN_PROGRESS} in a conditional update, and skips it if another worker got there first. A
+ * lease that outlives {@code leaseTimeout}, such as one left behind by a shutdown, makes the file
+ * due again for any instance's sweep.
+ */
+@Slf4j
+@Service
+public class SVVerificationPreviewService {
+
+  private static final String PREVIEW_PREFIX = "previews/";
+
+  private static final List<SVPreviewStatus> DUE_STATUSES = List.of(SVPreviewStatus.PENDING,
+      SVPreviewStatus.IN_PROGRESS);
+
+  private final SVPreviewConfig config;
+  private final SVR2StorageService storageService;
+  private final SVVerificationFileRepository verificationFileRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ThreadPoolExecutor workers;
+  private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+  private final Counter generated;
+  private final Counter failed;
+  private final Counter deferred;
+
+  public SVVerificationPreviewService(SVPreviewConfig config, SVR2StorageService storageService,
+      SVVerificationFileRepository verificationFileRepository,
+      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.storageService = storageService;
+    this.verificationFileRepository = verificationFileRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.workers = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+          Thread thread = new Thread(runnable, "verification-preview");
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.generated = meterRegistry.counter("shuttleverse.previews.generated");
+    this.failed = meterRegistry.counter("shuttleverse.previews.failed");
+    this.deferred = meterRegistry.counter("shuttleverse.previews.deferred");
+    meterRegistry.gauge("shuttleverse.previews.queued", workers, pool -> pool.getQueue().size());
+  }
+
+  /**
+   * Queues previews for the files once the surrounding transaction commits.
+   */
+  public void enqueue(Collection<UUID> fileIds) {
+    if (!config.isEnabled()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      submitAll(fileIds);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        submitAll(fileIds);
+      }
+    });
+  }
+
+  /**
+   * Feeds pending files that are due, and files whose lease expired, to the workers, as many as
+   * the queue has room for.
+   */
+  @Scheduled(fixedDelayString = "${shuttleverse.previews.sweep-interval:PT30S}",
+      initialDelayString = "${shuttleverse.previews.sweep-interval:PT30S}")
+  public void sweep() {
+    int capacity = workers.getQueue().remainingCapacity();
+    if (!config.isEnabled() || capacity == 0) {
+      return;
+    }
+
+    // Files already queued are skipped, so fetch enough to still fill the free capacity.
+    List<UUID> due = verificationFileRepository.findDueIdsByPreviewStatusIn(DUE_STATUSES,
+        ZonedDateTime.now(), PageRequest.ofSize(capacity + queued.size()));
+    submitAll(due);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    workers.shutdownNow();
+  }
+
+  private void submitAll(Collection<UUID> fileIds) {
+    for (UUID id : fileIds) {
+      if (!queued.add(id)) {
+        continue;
+      }
+      try {
+        workers.execute(() -> generate(id));
+      } catch (RejectedExecutionException e) {
+        queued.remove(id);
+        deferred.increment();
+        log.debug("Preview queue is full, leaving file {} for the next sweep", id);
+      }
+    }
+  }
+
+  private void generate(UUID id) {
+    try {
+      ZonedDateTime now = ZonedDateTime.now();
+      Integer leased = transactionTemplate.execute(status -> verificationFileRepository
+          .leasePreview(id, DUE_STATUSES, now, SVPreviewStatus.IN_PROGRESS,
+              now.plus(config.getLeaseTimeout())));
+      if (leased != null && leased == 1) {
+        verificationFileRepository.findById(id).ifPresent(this::generate);
+      }
+    } finally {
+      queued.remove(id);
+    }
+  }
+
+  private void generate(SVVerificationFile file) {
+    String previewUrl;
+    try {
+      previewUrl = render(file);
+    } catch (Exception e) {
+      int attempts = file.getPreviewAttempts() + 1;
+      boolean exhausted = attempts >= config.getMaxAttempts();
+      log.warn("Failed to generate preview for file {} (attempt {})", file.getId(), attempts, e);
+      failed.increment();
+      ZonedDateTime retryAt = ZonedDateTime.now()
+          .plus(config.getRetryDelay().multipliedBy(1L << Math.min(attempts - 1, 16)));
+      transactionTemplate.executeWithoutResult(status ->
+          verificationFileRepository.recordPreviewFailure(file.getId(),
+              exhausted ? SVPreviewStatus.FAILED : SVPreviewStatus.PENDING, retryAt));
+      return;
+    }
+
+    if (previewUrl != null) {
+      generated.increment();
+    }
+    transactionTemplate.executeWithoutResult(status ->
+        verificationFileRepository.updatePreview(file.getId(),
+            previewUrl != null ? SVPreviewStatus.READY : SVPreviewStatus.SKIPPED, previewUrl));
+  }
+
+  /**
+   * Returns the URL of the preview, or {@code null} if the file is not an image stored in the
+   * bucket. Files share stored objects by content, so a preview already rendered for the same
+   * object is reused.
+   */
+  private String render(SVVerificationFile file) throws IOException {
+    String key = storageService.keyOf(file.getFileUrl());
+    if (key == null || !SVImagePreview.isImage(file.getFileName())) {
+      return null;
+    }
+    Optional<SVVerificationFile> rendered = verificationFileRepository
+        .findFirstByFileUrlAndPreviewStatus(file.getFileUrl(), SVPreviewStatus.READY);
+    if (rendered.isPresent()) {
+      return rendered.get().getPreviewUrl();
+    }
+
+    byte[] preview;
+    try (InputStream input = storageService.download(key)) {
+      preview = SVImagePreview.render(input, config.getMaxDimension(), config.getQuality());
+    }
+    if (preview == null) {
+      return null;
+    }
+    return storageService.uploadBytes(preview, PREVIEW_PREFIX + key + ".jpg", "image/jpeg");
+  }
+}
@@ -0,0 +1,35 @@
+package com.shuttleverse.community.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hashes identify stored files by what they contain, as the lowercase hex SHA-256 of their
+ * bytes.
+ */
+public class SVContentHash {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Hashes the stream to its end in fixed-size chunks, so memory use does not depend on its length.
+   * The stream is not closed.
+   */
+  public static String sha256(InputStream input) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+
+    byte[] buffer = new byte[BUFFER_SIZE];
+    for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+      digest.update(buffer, 0, read);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
@@ -0,0 +1,78 @@
+package com.shuttleverse.community.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader. Fields may be quoted, quoted fields may contain separators, line
+ * breaks and doubled quotes, and records may end with either {@code \n} or {@code \r\n}. Only the
+ * current record is held in memory.
+ */
+public class SVCsvReader {
+
+  private final Reader reader;
+  private int lookahead = -2;
+
+  public SVCsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Returns the fields of the next record, or {@code null} at the end of the input.
+   */
+  public List<String> readRecord() throws IOException {
+    if (peek() == -1) {
+      return null;
+    }
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      int c = read();
+      if (quoted) {
+        if (c == -1) {
+          throw new IOException("Unterminated quoted field");
+        }
+        if (c == '"') {
+          if (peek() == '"') {
+            field.append((char) read());
+          } else {
+            quoted = false;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' && peek() == '\n') {
+        read();
+        break;
+      } else if (c == '\n' || c == -1) {
+        break;
+      } else {
+        field.append((char) c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private int peek() throws IOException {
+    if (lookahead == -2) {
+      lookahead = reader.read();
+    }
+    return lookahead;
+  }
+
+  private int read() throws IOException {
+    int c = peek();
+    lookahead = -2;
+    return c;
+  }
+}
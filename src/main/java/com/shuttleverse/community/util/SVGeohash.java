@@ -0,0 +1,96 @@
+package com.shuttleverse.community.util;
+
+import org.locationtech.jts.geom.Envelope;
+
+public class SVGeohash {
+
+  private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+  public static final int MAX_PRECISION = 12;
+
+  public static String encode(double latitude, double longitude, int precision) {
+    double minLat = -90.0;
+    double maxLat = 90.0;
+    double minLon = -180.0;
+    double maxLon = 180.0;
+
+    StringBuilder hash = new StringBuilder(precision);
+    boolean evenBit = true;
+    int bit = 0;
+    int index = 0;
+    while (hash.length() < precision) {
+      if (evenBit) {
+        double mid = (minLon + maxLon) / 2;
+        if (longitude >= mid) {
+          index = (index << 1) | 1;
+          minLon = mid;
+        } else {
+          index = index << 1;
+          maxLon = mid;
+        }
+      } else {
+        double mid = (minLat + maxLat) / 2;
+        if (latitude >= mid) {
+          index = (index << 1) | 1;
+          minLat = mid;
+        } else {
+          index = index << 1;
+          maxLat = mid;
+        }
+      }
+      evenBit = !evenBit;
+
+      if (++bit == 5) {
+        hash.append(BASE32.charAt(index));
+        bit = 0;
+        index = 0;
+      }
+    }
+
+    return hash.toString();
+  }
+
+  public static Envelope bounds(String geohash) {
+    double minLat = -90.0;
+    double maxLat = 90.0;
+    double minLon = -180.0;
+    double maxLon = 180.0;
+
+    boolean evenBit = true;
+    for (char c : geohash.toCharArray()) {
+      int index = BASE32.indexOf(c);
+      if (index < 0) {
+        throw new IllegalArgumentException("Invalid geohash: " + geohash);
+      }
+      for (int shift = 4; shift >= 0; shift--) {
+        int bit = (index >> shift) & 1;
+        if (evenBit) {
+          double mid = (minLon + maxLon) / 2;
+          if (bit == 1) {
+            minLon = mid;
+          } else {
+            maxLon = mid;
+          }
+        } else {
+          double mid = (minLat + maxLat) / 2;
+          if (bit == 1) {
+            minLat = mid;
+          } else {
+            maxLat = mid;
+          }
+        }
+        evenBit = !evenBit;
+      }
+    }
+
+    return new Envelope(minLon, maxLon, minLat, maxLat);
+  }
+
+  /**
+   * Width in degrees of longitude of a geohash cell at the given precision.
+   */
+  public static double cellWidth(int precision) {
+    int lonBits = (5 * precision + 1) / 2;
+    return 360.0 / (1L << lonBits);
+  }
+}
@@ -0,0 +1,99 @@
+package com.shuttleverse.community.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Renders downscaled JPEG previews of images. Large sources are subsampled while they are decoded,
+ * so the decoded raster stays around twice the preview size rather than the size of the original.
+ */
+public class SVImagePreview {
+
+  private static final Set<String> SUFFIXES = Arrays.stream(ImageIO.getReaderFileSuffixes())
+      .map(suffix -> suffix.toLowerCase(Locale.ROOT))
+      .collect(Collectors.toUnmodifiableSet());
+
+  /**
+   * Whether the file name has the suffix of an image format that can be decoded.
+   */
+  public static boolean isImage(String fileName) {
+    int dot = fileName == null ? -1 : fileName.lastIndexOf('.');
+    return dot != -1 && SUFFIXES.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Decodes the first image in the stream and encodes it as a JPEG whose longer side is at most
+   * {@code maxDimension}. Returns {@code null} if the stream is not a decodable image. The stream
+   * is not closed.
+   */
+  public static byte[] render(InputStream input, int maxDimension, float quality)
+      throws IOException {
+    BufferedImage source;
+    try (ImageInputStream imageInput = ImageIO.createImageInputStream(input)) {
+      Iterator<ImageReader> readers = imageInput == null ? null
+          : ImageIO.getImageReaders(imageInput);
+      if (readers == null || !readers.hasNext()) {
+        return null;
+      }
+
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(imageInput, true, true);
+        int longerSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+        int step = Math.max(1, longerSide / (2 * maxDimension));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        source = reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+
+    double scale = Math.min(1.0,
+        (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+    int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+    int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+    BufferedImage preview = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = preview.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+          RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setColor(Color.WHITE);
+      graphics.fillRect(0, 0, width, height);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      writer.setOutput(imageOutput);
+      writer.write(null, new IIOImage(preview, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return output.toByteArray();
+  }
+}
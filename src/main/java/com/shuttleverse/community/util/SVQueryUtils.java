@@ -2,23 +2,92 @@ package com.shuttleverse.community.util;
 
 import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.ComparablePath;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.core.types.dsl.NumberTemplate;
+import com.querydsl.core.types.dsl.StringPath;
+import com.shuttleverse.community.config.SVSpatialFunctionContributor;
 import com.shuttleverse.community.constants.SVSortDirection;
+import com.shuttleverse.community.params.SVDistanceCursor;
+import jakarta.ws.rs.BadRequestException;
+import java.util.UUID;
 import org.locationtech.jts.geom.Point;
 
 public class SVQueryUtils {
 
-  public static OrderSpecifier<?> orderByDistance(ComparablePath<Point> queryLocation,
-      Point location, SVSortDirection sortDirection) {
+  public static final int MAX_CLUSTER_ZOOM = 22;
+
+  private static final int CLUSTER_CELLS_PER_TILE = 4;
 
-    NumberTemplate<Double> expression = Expressions.numberTemplate(Double.class,
+  public static NumberTemplate<Double> distance(ComparablePath<Point> queryLocation,
+      Point location) {
+    return Expressions.numberTemplate(Double.class,
         "ST_Distance({0}, {1})",
         queryLocation,
         ConstantImpl.create(location)
     );
+  }
+
+  /**
+   * Distance using the index-assisted KNN operator. Only meant for ORDER BY: for points it yields
+   * the same value as {@link #distance}, but lets PostgreSQL read a GiST index nearest-first.
+   */
+  public static NumberTemplate<Double> knnDistance(ComparablePath<Point> queryLocation,
+      Point location) {
+    return Expressions.numberTemplate(Double.class,
+        SVSpatialFunctionContributor.KNN_DISTANCE + "({0}, {1})",
+        queryLocation,
+        ConstantImpl.create(location)
+    );
+  }
+
+  public static OrderSpecifier<?> orderByDistance(ComparablePath<Point> queryLocation,
+      Point location, SVSortDirection sortDirection) {
+
+    NumberTemplate<Double> expression = knnDistance(queryLocation, location);
 
     return sortDirection == SVSortDirection.ASC ? expression.asc() : expression.desc();
   }
+
+  public static OrderSpecifier<?> orderByName(StringPath name, SVSortDirection sortDirection) {
+    return sortDirection == SVSortDirection.ASC ? name.asc() : name.desc();
+  }
+
+  /**
+   * Orders by trending score, so DESC lists the most trending entity first. Entities nobody has
+   * voted on have no score and sort as the least trending.
+   */
+  public static OrderSpecifier<?> orderByTrending(NumberPath<Double> trendingScore,
+      SVSortDirection sortDirection) {
+    return sortDirection == SVSortDirection.ASC
+        ? trendingScore.asc().nullsFirst() : trendingScore.desc().nullsLast();
+  }
+
+  /**
+   * Keyset predicate matching the rows that come strictly after the cursor in (distance, id)
+   * order.
+   */
+  public static BooleanExpression afterDistanceCursor(NumberTemplate<Double> distance,
+      ComparablePath<UUID> id, SVDistanceCursor cursor, SVSortDirection sortDirection) {
+    if (sortDirection == SVSortDirection.ASC) {
+      return distance.gt(cursor.getDistance())
+          .or(distance.eq(cursor.getDistance()).and(id.gt(cursor.getId())));
+    }
+
+    return distance.lt(cursor.getDistance())
+        .or(distance.eq(cursor.getDistance()).and(id.lt(cursor.getId())));
+  }
+
+  /**
+   * Grid cell size in degrees for map clustering at the given web-map zoom level, so that a
+   * 256px tile is split into a fixed number of cells whatever the zoom.
+   */
+  public static double clusterCellSize(int zoom) {
+    if (zoom < 0 || zoom > MAX_CLUSTER_ZOOM) {
+      throw new BadRequestException("Zoom must be between 0 and " + MAX_CLUSTER_ZOOM);
+    }
+    return 360.0 / (1L << zoom) / CLUSTER_CELLS_PER_TILE;
+  }
 }
@@ -0,0 +1,25 @@
+package com.shuttleverse.community.util;
+
+import java.time.Instant;
+
+/**
+ * Trending scores are exponentially decayed vote counts kept in log space relative to a fixed
+ * epoch: a vote cast at time t contributes {@code 2 ^ ((t - epoch) / halfLife)}, and the stored
+ * score is the natural log of the sum of contributions. Decaying every score by the same factor
+ * does not change their order, so a score never needs recomputing, a new vote is folded in with a
+ * log-add-exp, and an ordinary index on the score serves the ranking.
+ */
+public class SVTrendingScore {
+
+  public static final long HALF_LIFE_SECONDS = 3 * 24 * 60 * 60;
+
+  private static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+  private static final double DECAY_PER_SECOND = Math.log(2) / HALF_LIFE_SECONDS;
+
+  /**
+   * Returns the log-space weight of {@code votes} votes cast at {@code at}.
+   */
+  public static double weight(Instant at, long votes) {
+    return DECAY_PER_SECOND * (at.getEpochSecond() - EPOCH.getEpochSecond()) + Math.log(votes);
+  }
+}
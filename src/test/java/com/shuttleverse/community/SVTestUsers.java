@@ -0,0 +1,43 @@
+package com.shuttleverse.community;
+
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.repository.SVUserRepository;
+import java.util.UUID;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Persisted users for tests that run against the real authentication flow, keyed by the JWT
+ * subject in the same way as {@link com.shuttleverse.community.service.SVUserService#findBySub}.
+ */
+public final class SVTestUsers {
+
+  private SVTestUsers() {
+  }
+
+  /**
+   * Returns the user for the subject, saving it on first use.
+   */
+  public static SVUser findOrCreate(SVUserRepository userRepository, String subject) {
+    UUID id = UUID.nameUUIDFromBytes(subject.getBytes());
+    return userRepository.findById(id).orElseGet(() -> {
+      SVUser created = new SVUser();
+      created.setId(id);
+      created.setUsername(subject);
+      created.setEmail(subject + "@shuttleverse.com");
+      return userRepository.save(created);
+    });
+  }
+
+  /**
+   * Saves the user for the subject if needed and authenticates the current thread as it. Callers
+   * clear the security context after the test.
+   */
+  public static SVUser authenticate(SVUserRepository userRepository, String subject) {
+    SVUser user = findOrCreate(userRepository, subject);
+    Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(subject).build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    return user;
+  }
+}
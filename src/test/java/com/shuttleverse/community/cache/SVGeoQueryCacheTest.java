@@ -0,0 +1,96 @@
+package com.shuttleverse.community.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shuttleverse.community.config.SVGeoQueryCacheConfig;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.constants.SVInfoConstant;
+import com.shuttleverse.community.repository.SVLocationProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Point;
+
+/**
+ * Snapped keys may be shared by nearby requests, but each request must only see its own matches.
+ */
+class SVGeoQueryCacheTest {
+
+  private final SVGeoQueryCache cache = new SVGeoQueryCache(new SVGeoQueryCacheConfig(),
+      new SimpleMeterRegistry());
+
+  @Test
+  void narrowsSharedRadiusEntriesToTheRequestedCircle() {
+    SVLocationProjection near = location(-79.4, 44.0);
+    SVLocationProjection nearer = location(-79.4, 43.9);
+    SVLocationProjection outside = location(-79.4, 44.75);
+    AtomicInteger loads = new AtomicInteger();
+
+    List<UUID> first = cache.findWithinDistance(SVEntityType.COURT, point(-79.4, 43.7), 1,
+        (center, radius) -> {
+          loads.incrementAndGet();
+          assertThat(radius).isGreaterThan(1);
+          return List.of(outside, near, nearer);
+        });
+    List<UUID> second = cache.findWithinDistance(SVEntityType.COURT, point(-79.4001, 43.7001), 1,
+        (center, radius) -> List.of());
+
+    assertThat(loads).hasValue(1);
+    assertThat(first).containsExactly(nearer.getId(), near.getId());
+    assertThat(second).containsExactly(nearer.getId(), near.getId());
+  }
+
+  @Test
+  void narrowsWidenedBoundsToTheRequestedBox() {
+    SVLocationProjection inside = location(-79.35, 43.65);
+    SVLocationProjection outside = location(-79.29, 43.65);
+
+    List<UUID> ids = cache.findWithinBounds(SVEntityType.COURT, -79.5, 43.6, -79.3, 43.8,
+        bounds -> List.of(inside, outside));
+
+    assertThat(ids).containsExactly(inside.getId());
+  }
+
+  @Test
+  void dropsEntriesWhoseLoadOverlappedAnEviction() {
+    AtomicInteger loads = new AtomicInteger();
+    for (int i = 0; i < 2; i++) {
+      cache.findWithinBounds(SVEntityType.COURT, -79.5, 43.6, -79.3, 43.8, bounds -> {
+        if (loads.incrementAndGet() == 1) {
+          // A write commits while the first load is still reading.
+          cache.evictAll(SVEntityType.COURT);
+        }
+        return List.of();
+      });
+    }
+
+    assertThat(loads).hasValue(2);
+  }
+
+  private static Point point(double longitude, double latitude) {
+    return SVInfoConstant.GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+  }
+
+  private static SVLocationProjection location(double longitude, double latitude) {
+    UUID id = UUID.randomUUID();
+    return new SVLocationProjection() {
+      @Override
+      public UUID getId() {
+        return id;
+      }
+
+      @Override
+      public double getLongitude() {
+        return longitude;
+      }
+
+      @Override
+      public double getLatitude() {
+        return latitude;
+      }
+    };
+  }
+}
@@ -0,0 +1,133 @@
+package com.shuttleverse.community.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.constants.SVInfoType;
+import com.shuttleverse.community.model.SVCourt;
+import com.shuttleverse.community.model.SVCourtSchedule;
+import com.shuttleverse.community.model.SVUpvote;
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.repository.SVCourtRepository;
+import com.shuttleverse.community.repository.SVCourtScheduleRepository;
+import com.shuttleverse.community.repository.SVUpvoteRepository;
+import com.shuttleverse.community.repository.SVUserRepository;
+import com.shuttleverse.community.util.SVTrendingScore;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "shuttleverse.upvote-buffer.flush-interval=PT1H")
+@ActiveProfiles("test")
+class SVUpvoteBufferTest {
+
+  @Autowired
+  private SVUpvoteBuffer upvoteBuffer;
+  @Autowired
+  private SVUserRepository userRepository;
+  @Autowired
+  private SVCourtRepository courtRepository;
+  @Autowired
+  private SVCourtScheduleRepository scheduleRepository;
+  @Autowired
+  private SVUpvoteRepository upvoteRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private EntityManager entityManager;
+
+  @Test
+  void bufferedVotesAreVisibleBeforeAndAfterFlush() {
+    SVCourtSchedule schedule = saveSchedule();
+    UUID scheduleId = schedule.getId();
+    UUID courtId = schedule.getCourtId();
+
+    for (int i = 0; i < 3; i++) {
+      transactionTemplate.executeWithoutResult(status -> upvoteBuffer.increment(
+          SVEntityType.COURT, SVInfoType.SCHEDULE, scheduleId, courtId));
+    }
+    transactionTemplate.executeWithoutResult(status -> {
+      upvoteBuffer.increment(SVEntityType.COURT, SVInfoType.SCHEDULE, scheduleId, courtId);
+      status.setRollbackOnly();
+    });
+
+    assertThat(upvoteBuffer.pending(scheduleId)).isEqualTo(3);
+    assertThat(loadUpvotes(scheduleId)).isEqualTo(3);
+
+    upvoteBuffer.flush();
+
+    assertThat(upvoteBuffer.pending(scheduleId)).isZero();
+    assertThat(loadUpvotes(scheduleId)).isEqualTo(3);
+    assertThat(courtRepository.findById(courtId).orElseThrow().getTrendingScore())
+        .isCloseTo(SVTrendingScore.weight(Instant.now(), 3), within(1e-3));
+  }
+
+  @Test
+  void savingAnOverlaidEntityDoesNotWriteTheCounter() {
+    SVCourtSchedule saved = saveSchedule();
+    UUID scheduleId = saved.getId();
+    transactionTemplate.executeWithoutResult(status -> upvoteBuffer.increment(
+        SVEntityType.COURT, SVInfoType.SCHEDULE, scheduleId, saved.getCourtId()));
+
+    transactionTemplate.executeWithoutResult(status -> {
+      SVCourtSchedule schedule = scheduleRepository.findById(scheduleId).orElseThrow();
+      schedule.setOpenTime("08:00");
+      scheduleRepository.save(schedule);
+    });
+    upvoteBuffer.flush();
+
+    assertThat(loadUpvotes(scheduleId)).isEqualTo(1);
+  }
+
+  @Test
+  void reconcileRecountsCountersFromVoteRows() {
+    SVCourtSchedule schedule = saveSchedule();
+    for (int i = 0; i < 2; i++) {
+      SVUpvote upvote = new SVUpvote();
+      upvote.setEntityType(SVEntityType.COURT);
+      upvote.setInfoType(SVInfoType.SCHEDULE);
+      upvote.setEntityId(schedule.getId());
+      upvote.setUpvoteCreator(schedule.getSubmittedBy());
+      upvoteRepository.save(upvote);
+    }
+
+    upvoteBuffer.reconcile();
+
+    assertThat(loadUpvotes(schedule.getId())).isEqualTo(2);
+  }
+
+  private int loadUpvotes(UUID scheduleId) {
+    return transactionTemplate.execute(status -> {
+      entityManager.clear();
+      return scheduleRepository.findById(scheduleId).orElseThrow().getUpvotes();
+    });
+  }
+
+  private SVCourtSchedule saveSchedule() {
+    SVUser user = new SVUser();
+    user.setId(UUID.randomUUID());
+    user.setUsername("voter" + user.getId());
+    user.setEmail(user.getId() + "@shuttleverse.com");
+    user = userRepository.save(user);
+
+    SVCourt court = new SVCourt();
+    court.setName("court" + user.getId());
+    court.setCreator(user);
+    court.setOwner(user);
+    court = courtRepository.save(court);
+
+    SVCourtSchedule schedule = new SVCourtSchedule();
+    schedule.setCourtId(court.getId());
+    schedule.setDayOfWeek(1);
+    schedule.setOpenTime("09:00");
+    schedule.setCloseTime("17:00");
+    schedule.setSubmittedBy(user);
+    return scheduleRepository.save(schedule);
+  }
+}
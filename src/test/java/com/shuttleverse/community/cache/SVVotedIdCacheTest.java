@@ -0,0 +1,51 @@
+package com.shuttleverse.community.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shuttleverse.community.config.SVVotedIdCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SVVotedIdCacheTest {
+
+  @Test
+  void remembersUsersWithTooManyVotesWithoutReloadingThem() {
+    SVVotedIdCacheConfig config = new SVVotedIdCacheConfig();
+    config.setMaxIdsPerUser(2);
+    SVVotedIdCache cache = new SVVotedIdCache(config, new SimpleMeterRegistry());
+    UUID userId = UUID.randomUUID();
+    List<UUID> voted = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    AtomicInteger loads = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(cache.findVoted(userId, voted, key -> {
+        loads.incrementAndGet();
+        return voted;
+      })).isNull();
+    }
+    cache.add(userId, UUID.randomUUID());
+
+    assertThat(loads).hasValue(1);
+    assertThat(cache.findVoted(userId, voted, key -> List.of())).isNull();
+  }
+
+  @Test
+  void invalidatesOnlyTheGivenUsers() {
+    SVVotedIdCache cache = new SVVotedIdCache(new SVVotedIdCacheConfig(),
+        new SimpleMeterRegistry());
+    UUID voter = UUID.randomUUID();
+    UUID bystander = UUID.randomUUID();
+    UUID entityId = UUID.randomUUID();
+    cache.findVoted(voter, List.of(entityId), key -> List.of(entityId));
+    cache.findVoted(bystander, List.of(entityId), key -> List.of(entityId));
+
+    cache.invalidate(List.of(voter));
+
+    assertThat(cache.findVoted(voter, List.of(entityId), key -> List.of())).isEmpty();
+    assertThat(cache.findVoted(bystander, List.of(entityId), key -> List.of()))
+        .containsExactly(entityId);
+  }
+}
@@ -0,0 +1,129 @@
+package com.shuttleverse.community.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Guards the bounding-box queries against plan regressions: on a seeded table they must be
+ * answered through the GiST index on location_point rather than a sequential scan.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SVBoundingBoxQueryPlanTest {
+
+  private static final List<String> TABLES = List.of("court", "coach", "stringer");
+
+  private static final List<String> MIGRATIONS = List.of(
+      "supabase/migrations/20261017130000_location_point_gist_indexes.sql",
+      "supabase/migrations/20261017140000_location_point_srid.sql");
+
+  private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+  private static final Map<String, Double> BOSTON = Map.of(
+      "minLon", -71.2,
+      "minLat", 42.2,
+      "maxLon", -70.9,
+      "maxLat", 42.5);
+
+  @Container
+  private static final PostgreSQLContainer<?> postgis = new PostgreSQLContainer<>(
+      DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+  @BeforeAll
+  static void seed() throws Exception {
+    try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+      statement.execute("create extension if not exists postgis");
+      statement.execute("select setseed(0.42)");
+      for (String table : TABLES) {
+        statement.execute("create table public." + table + " ("
+            + "id uuid primary key default gen_random_uuid(), "
+            + "name text, "
+            + "location_point geometry)");
+        statement.execute("insert into public." + table + " (name, location_point) "
+            + "select 'seed-' || g, "
+            + "ST_MakePoint(-180 + random() * 360, -85 + random() * 170) "
+            + "from generate_series(1, 50000) g");
+      }
+      for (String migration : MIGRATIONS) {
+        statement.execute(Files.readString(Path.of(migration)));
+      }
+      for (String table : TABLES) {
+        statement.execute("analyze public." + table);
+      }
+    }
+  }
+
+  static Stream<Arguments> boundingBoxQueries() {
+    return Stream.of(
+        Arguments.of("court", SVCourtRepository.WITHIN_BOUNDS_QUERY),
+        Arguments.of("coach", SVCoachRepository.WITHIN_BOUNDS_QUERY),
+        Arguments.of("stringer", SVStringerRepository.WITHIN_BOUNDS_QUERY),
+        Arguments.of("court",
+            "SELECT COUNT(*) FROM public.court " + SVCourtRepository.WITHIN_BOUNDS_PREDICATE),
+        Arguments.of("coach",
+            "SELECT COUNT(*) FROM public.coach " + SVCoachRepository.WITHIN_BOUNDS_PREDICATE),
+        Arguments.of("stringer",
+            "SELECT COUNT(*) FROM public.stringer "
+                + SVStringerRepository.WITHIN_BOUNDS_PREDICATE));
+  }
+
+  @ParameterizedTest
+  @MethodSource("boundingBoxQueries")
+  void boundingBoxQueryUsesGistIndex(String table, String query) throws SQLException {
+    String plan = explain(query);
+
+    assertThat(plan).contains(table + "_location_point_gist_idx");
+    assertThat(plan).doesNotContain("Seq Scan");
+  }
+
+  private static String explain(String query) throws SQLException {
+    List<String> parameters = new ArrayList<>();
+    Matcher matcher = NAMED_PARAMETER.matcher(query);
+    StringBuilder sql = new StringBuilder("EXPLAIN ");
+    while (matcher.find()) {
+      parameters.add(matcher.group(1));
+      matcher.appendReplacement(sql, "?");
+    }
+    matcher.appendTail(sql);
+
+    try (Connection connection = connect();
+        PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+      for (int i = 0; i < parameters.size(); i++) {
+        statement.setDouble(i + 1, BOSTON.get(parameters.get(i)));
+      }
+      StringBuilder plan = new StringBuilder();
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          plan.append(resultSet.getString(1)).append('\n');
+        }
+      }
+      return plan.toString();
+    }
+  }
+
+  private static Connection connect() throws SQLException {
+    return DriverManager.getConnection(postgis.getJdbcUrl(), postgis.getUsername(),
+        postgis.getPassword());
+  }
+}
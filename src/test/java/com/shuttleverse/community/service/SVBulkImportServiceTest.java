@@ -0,0 +1,164 @@
+package com.shuttleverse.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shuttleverse.community.SVTestUsers;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.dto.SVImportReport;
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.repository.SVCourtPriceRepository;
+import com.shuttleverse.community.repository.SVCourtRepository;
+import com.shuttleverse.community.repository.SVCourtScheduleRepository;
+import com.shuttleverse.community.repository.SVStringerRepository;
+import com.shuttleverse.community.repository.SVUserRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SVBulkImportServiceTest {
+
+  private static final String SUB = "bulk-import";
+
+  @Autowired
+  private SVBulkImportService bulkImportService;
+  @Autowired
+  private SVUserRepository userRepository;
+  @Autowired
+  private SVCourtRepository courtRepository;
+  @Autowired
+  private SVCourtScheduleRepository scheduleRepository;
+  @Autowired
+  private SVCourtPriceRepository priceRepository;
+  @Autowired
+  private SVStringerRepository stringerRepository;
+  @Autowired
+  private EntityManager entityManager;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private SVUser user;
+
+  @BeforeEach
+  void createUser() {
+    user = SVTestUsers.findOrCreate(userRepository, SUB);
+  }
+
+  @AfterEach
+  void deleteImportedRows() {
+    transactionTemplate.executeWithoutResult(status -> {
+      for (String child : new String[]{"SVCourtSchedule", "SVCourtPrice"}) {
+        entityManager.createQuery("delete from " + child + " where courtId in "
+            + "(select id from SVCourt where creator.id = :creator)")
+            .setParameter("creator", user.getId()).executeUpdate();
+      }
+      entityManager.createQuery("delete from SVStringerPrice where stringerId in "
+          + "(select id from SVStringer where creator.id = :creator)")
+          .setParameter("creator", user.getId()).executeUpdate();
+      for (String parent : new String[]{"SVCourt", "SVStringer"}) {
+        entityManager.createQuery("delete from " + parent + " where creator.id = :creator")
+            .setParameter("creator", user.getId()).executeUpdate();
+      }
+    });
+  }
+
+  @Test
+  void importsNdjsonCourtsWithChildrenAndReportsBadRows() throws Exception {
+    long courts = courtRepository.count();
+    long schedules = scheduleRepository.count();
+    long prices = priceRepository.count();
+    String body = """
+        {"name":"Import Court 1","locationPoint":{"longitude":-79.4,"latitude":43.7},\
+        "schedules":[{"dayOfWeek":1,"startTime":"09:00","endTime":"17:00"}],\
+        "prices":[{"minPrice":10,"maxPrice":20,"duration":1,"durationUnit":"hour"}]}
+
+        {"name":"Import Court 2","locationPoint":{"longitude":-79.3,"latitude":43.6}}
+        {"name":"","locationPoint":{"longitude":-79.3,"latitude":43.6}}
+        {"name":"Import Court 4","locationPoint":{"longitude":-279.3,"latitude":43.6}}
+        not json
+        """;
+
+    SVImportReport report = bulkImportService.importEntities(SVEntityType.COURT,
+        MediaType.APPLICATION_NDJSON, stream(body), user);
+
+    assertThat(report.getImported()).isEqualTo(2);
+    assertThat(report.getFailed()).isEqualTo(3);
+    assertThat(report.getErrors()).extracting(SVImportReport.SVImportError::row)
+        .containsExactly(4L, 5L, 6L);
+    assertThat(courtRepository.count()).isEqualTo(courts + 2);
+    assertThat(scheduleRepository.count()).isEqualTo(schedules + 1);
+    assertThat(priceRepository.count()).isEqualTo(prices + 1);
+  }
+
+  @Test
+  void importsCsvStringersWithJsonColumns() throws Exception {
+    long stringers = stringerRepository.count();
+    String body = """
+        name,longitude,latitude,description,prices
+        Import Stringer 1,-79.4,43.7,"Quick, cheap","[{""stringName"":""BG65"",""price"":25}]"
+        Import Stringer 2,-79.4,43.7,,
+        Import Stringer 3,-79.4
+        """;
+
+    SVImportReport report = bulkImportService.importEntities(SVEntityType.STRINGER,
+        MediaType.parseMediaType(SVBulkImportService.TEXT_CSV_VALUE), stream(body), user);
+
+    assertThat(report.getImported()).isEqualTo(2);
+    assertThat(report.getErrors()).extracting(SVImportReport.SVImportError::row)
+        .containsExactly(3L);
+    assertThat(stringerRepository.count()).isEqualTo(stringers + 2);
+  }
+
+  @Test
+  void stopsAtUnterminatedCsvFieldAndKeepsEarlierRows() throws Exception {
+    long stringers = stringerRepository.count();
+    String body = """
+        name,longitude,latitude,description
+        Import Stringer 1,-79.4,43.7,
+        Import Stringer 2,-79.4,43.7,"never closed
+        Import Stringer 3,-79.4,43.7,
+        """;
+
+    SVImportReport report = bulkImportService.importEntities(SVEntityType.STRINGER,
+        MediaType.parseMediaType(SVBulkImportService.TEXT_CSV_VALUE), stream(body), user);
+
+    assertThat(report.getImported()).isEqualTo(1);
+    assertThat(report.getErrors()).extracting(SVImportReport.SVImportError::row)
+        .containsExactly(2L);
+    assertThat(stringerRepository.count()).isEqualTo(stringers + 1);
+  }
+
+  @Test
+  void retriesFailedChunkRowByRow() throws Exception {
+    long stringers = stringerRepository.count();
+    // The phone number passes validation but not the column length, so the whole chunk fails in
+    // the database and is retried one row at a time.
+    String body = """
+        {"name":"Import Stringer 1","locationPoint":{"longitude":-79.4,"latitude":43.7}}
+        {"name":"Import Stringer 2","locationPoint":{"longitude":-79.4,"latitude":43.7},\
+        "phoneNumber":"+1 416 555 0100 ext. 12345"}
+        {"name":"Import Stringer 3","locationPoint":{"longitude":-79.4,"latitude":43.7}}
+        """;
+
+    SVImportReport report = bulkImportService.importEntities(SVEntityType.STRINGER,
+        MediaType.APPLICATION_NDJSON, stream(body), user);
+
+    assertThat(report.getImported()).isEqualTo(2);
+    assertThat(report.getErrors()).extracting(SVImportReport.SVImportError::row)
+        .containsExactly(2L);
+    assertThat(stringerRepository.count()).isEqualTo(stringers + 2);
+  }
+
+  private static ByteArrayInputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,103 @@
+package com.shuttleverse.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shuttleverse.community.SVTestUsers;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.model.SVCourt;
+import com.shuttleverse.community.model.SVCourtSchedule;
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.repository.SVCourtRepository;
+import com.shuttleverse.community.repository.SVCourtScheduleRepository;
+import com.shuttleverse.community.repository.SVUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Exporting must load children per chunk rather than per row, so the statement count is bounded
+ * by the number of chunks.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SVExportServiceTest {
+
+  private static final String SUB = "export";
+
+  @Autowired
+  private SVExportService exportService;
+  @Autowired
+  private SVUserRepository userRepository;
+  @Autowired
+  private SVCourtRepository courtRepository;
+  @Autowired
+  private SVCourtScheduleRepository scheduleRepository;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private final List<SVCourt> courts = new ArrayList<>();
+  private final List<SVCourtSchedule> schedules = new ArrayList<>();
+
+  @AfterEach
+  void deleteSeededRows() {
+    scheduleRepository.deleteAll(schedules);
+    courtRepository.deleteAll(courts);
+  }
+
+  @Test
+  void streamsEveryCourtWithItsSchedules() throws Exception {
+    SVUser user = SVTestUsers.findOrCreate(userRepository, SUB);
+
+    for (int i = 0; i < 250; i++) {
+      SVCourt court = new SVCourt();
+      court.setName("Export Court " + i);
+      court.setCreator(user);
+      courts.add(court);
+    }
+    courtRepository.saveAll(courts);
+    for (SVCourt court : courts) {
+      SVCourtSchedule schedule = new SVCourtSchedule();
+      schedule.setCourtId(court.getId());
+      schedule.setDayOfWeek(1);
+      schedule.setOpenTime("09:00");
+      schedule.setCloseTime("17:00");
+      schedule.setSubmittedBy(user);
+      schedules.add(schedule);
+    }
+    scheduleRepository.saveAll(schedules);
+    long total = courtRepository.count();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    exportService.exportEntities(SVEntityType.COURT, output);
+
+    String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize((int) total);
+    int exportedSchedules = 0;
+    for (String line : lines) {
+      JsonNode court = objectMapper.readTree(line);
+      if (court.get("name").asText().startsWith("Export Court ")) {
+        assertThat(court.get("scheduleList")).hasSize(1);
+        exportedSchedules++;
+      }
+    }
+    assertThat(exportedSchedules).isEqualTo(250);
+
+    long chunks = (total + 99) / 100;
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 2 * chunks);
+  }
+}
@@ -0,0 +1,204 @@
+package com.shuttleverse.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shuttleverse.community.constants.SVSortDirection;
+import com.shuttleverse.community.constants.SVSortType;
+import com.shuttleverse.community.mapper.SVMapStructMapper;
+import com.shuttleverse.community.model.SVCoach;
+import com.shuttleverse.community.model.SVCoachPrice;
+import com.shuttleverse.community.model.SVCoachSchedule;
+import com.shuttleverse.community.model.SVCourt;
+import com.shuttleverse.community.model.SVCourtPrice;
+import com.shuttleverse.community.model.SVCourtSchedule;
+import com.shuttleverse.community.model.SVStringer;
+import com.shuttleverse.community.model.SVStringerPrice;
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.params.SVEntityFilterParams;
+import com.shuttleverse.community.params.SVSortParams;
+import com.shuttleverse.community.repository.SVCoachPriceRepository;
+import com.shuttleverse.community.repository.SVCoachRepository;
+import com.shuttleverse.community.repository.SVCoachScheduleRepository;
+import com.shuttleverse.community.repository.SVCourtPriceRepository;
+import com.shuttleverse.community.repository.SVCourtRepository;
+import com.shuttleverse.community.repository.SVCourtScheduleRepository;
+import com.shuttleverse.community.repository.SVStringerPriceRepository;
+import com.shuttleverse.community.repository.SVStringerRepository;
+import com.shuttleverse.community.repository.SVUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mapping a list page to responses touches every row's schedules, prices, creator and owner. These
+ * must be initialized in batches, so the statement count of a page does not grow with its size.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SVListQueryCountTest {
+
+  private static final int ENTITIES = 30;
+
+  @Autowired
+  private SVCourtService courtService;
+  @Autowired
+  private SVCoachService coachService;
+  @Autowired
+  private SVStringerService stringerService;
+  @Autowired
+  private SVMapStructMapper mapper;
+  @Autowired
+  private SVUserRepository userRepository;
+  @Autowired
+  private SVCourtRepository courtRepository;
+  @Autowired
+  private SVCourtScheduleRepository courtScheduleRepository;
+  @Autowired
+  private SVCourtPriceRepository courtPriceRepository;
+  @Autowired
+  private SVCoachRepository coachRepository;
+  @Autowired
+  private SVCoachScheduleRepository coachScheduleRepository;
+  @Autowired
+  private SVCoachPriceRepository coachPriceRepository;
+  @Autowired
+  private SVStringerRepository stringerRepository;
+  @Autowired
+  private SVStringerPriceRepository stringerPriceRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private final SVEntityFilterParams filterParams = new SVEntityFilterParams(null, null, null,
+      null);
+  private final SVSortParams sortParams = new SVSortParams(SVSortType.NAME, SVSortDirection.ASC,
+      null, null);
+
+  @BeforeEach
+  void seed() {
+    if (courtRepository.count() > 0) {
+      return;
+    }
+
+    for (int i = 0; i < ENTITIES; i++) {
+      SVUser creator = saveUser("creator" + i);
+      SVUser owner = saveUser("owner" + i);
+
+      SVCourt court = new SVCourt();
+      court.setName("court" + i);
+      court.setCreator(creator);
+      court.setOwner(owner);
+      court = courtRepository.save(court);
+
+      SVCourtSchedule courtSchedule = new SVCourtSchedule();
+      courtSchedule.setCourtId(court.getId());
+      courtSchedule.setDayOfWeek(1);
+      courtSchedule.setOpenTime("09:00");
+      courtSchedule.setCloseTime("17:00");
+      courtSchedule.setSubmittedBy(saveUser("courtSchedule" + i));
+      courtScheduleRepository.save(courtSchedule);
+
+      SVCourtPrice courtPrice = new SVCourtPrice();
+      courtPrice.setCourtId(court.getId());
+      courtPrice.setMinPrice(10.0);
+      courtPrice.setMaxPrice(20.0);
+      courtPrice.setDuration(1);
+      courtPrice.setDurationUnit("hour");
+      courtPrice.setSubmittedBy(saveUser("courtPrice" + i));
+      courtPriceRepository.save(courtPrice);
+
+      SVCoach coach = new SVCoach();
+      coach.setName("coach" + i);
+      coach.setCreator(creator);
+      coach.setOwner(owner);
+      coach = coachRepository.save(coach);
+
+      SVCoachSchedule coachSchedule = new SVCoachSchedule();
+      coachSchedule.setCoachId(coach.getId());
+      coachSchedule.setDayOfWeek(1);
+      coachSchedule.setStartTime("09:00");
+      coachSchedule.setEndTime("17:00");
+      coachSchedule.setSubmittedBy(saveUser("coachSchedule" + i));
+      coachScheduleRepository.save(coachSchedule);
+
+      SVCoachPrice coachPrice = new SVCoachPrice();
+      coachPrice.setCoachId(coach.getId());
+      coachPrice.setMinPrice(10.0);
+      coachPrice.setMaxPrice(20.0);
+      coachPrice.setDuration(1);
+      coachPrice.setDurationUnit("hour");
+      coachPrice.setSubmittedBy(saveUser("coachPrice" + i));
+      coachPriceRepository.save(coachPrice);
+
+      SVStringer stringer = new SVStringer();
+      stringer.setName("stringer" + i);
+      stringer.setCreator(creator);
+      stringer.setOwner(owner);
+      stringer = stringerRepository.save(stringer);
+
+      SVStringerPrice stringerPrice = new SVStringerPrice();
+      stringerPrice.setStringerId(stringer.getId());
+      stringerPrice.setStringName("BG65");
+      stringerPrice.setPrice(15.0);
+      stringerPrice.setSubmittedBy(saveUser("stringerPrice" + i));
+      stringerPriceRepository.save(stringerPrice);
+    }
+  }
+
+  @Test
+  void courtPageQueryCountIsIndependentOfPageSize() {
+    Function<Pageable, List<?>> page = pageable ->
+        courtService.getAllCourts(filterParams, sortParams, pageable)
+            .map(mapper::toCourtResponse).getContent();
+
+    assertThat(countStatements(page, 25)).isEqualTo(countStatements(page, 5));
+  }
+
+  @Test
+  void coachPageQueryCountIsIndependentOfPageSize() {
+    Function<Pageable, List<?>> page = pageable ->
+        coachService.getAllCoaches(filterParams, sortParams, pageable)
+            .map(mapper::toCoachResponse).getContent();
+
+    assertThat(countStatements(page, 25)).isEqualTo(countStatements(page, 5));
+  }
+
+  @Test
+  void stringerPageQueryCountIsIndependentOfPageSize() {
+    Function<Pageable, List<?>> page = pageable ->
+        stringerService.getAllStringers(filterParams, sortParams, pageable)
+            .map(mapper::toStringerResponse).getContent();
+
+    assertThat(countStatements(page, 25)).isEqualTo(countStatements(page, 5));
+  }
+
+  private long countStatements(Function<Pageable, List<?>> page, int size) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    List<?> content = transactionTemplate.execute(status -> page.apply(PageRequest.of(0, size)));
+
+    assertThat(content).hasSize(size);
+    return statistics.getPrepareStatementCount();
+  }
+
+  private SVUser saveUser(String username) {
+    SVUser user = new SVUser();
+    user.setId(UUID.randomUUID());
+    user.setUsername(username);
+    user.setEmail(username + "@shuttleverse.com");
+    return userRepository.save(user);
+  }
+}
@@ -0,0 +1,157 @@
+package com.shuttleverse.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shuttleverse.community.SVTestUsers;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.constants.SVPreviewStatus;
+import com.shuttleverse.community.model.SVOwnershipClaim;
+import com.shuttleverse.community.model.SVVerificationFile;
+import com.shuttleverse.community.params.SVOwnershipClaimCreationData;
+import com.shuttleverse.community.repository.SVUserRepository;
+import com.shuttleverse.community.repository.SVVerificationFileRepository;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.multipart.MultipartFile;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SVOwnershipClaimServiceTest {
+
+  private static final String SUB = "claim-dedup";
+
+  @Autowired
+  private SVOwnershipClaimService claimService;
+  @Autowired
+  private SVUserRepository userRepository;
+  @Autowired
+  private SVVerificationFileRepository verificationFileRepository;
+  @MockitoBean
+  private SVR2StorageService storageService;
+
+  @BeforeEach
+  void authenticate() {
+    SVTestUsers.authenticate(userRepository, SUB);
+
+    when(storageService.uploadFiles(anyList(), anyList())).thenAnswer(invocation -> {
+      List<String> keys = invocation.getArgument(1);
+      return keys.stream().map(key -> "https://files.test/" + key).toList();
+    });
+  }
+
+  @AfterEach
+  void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void reusesStoredObjectsForDuplicateContent() {
+    String lease = UUID.randomUUID().toString();
+    String photo = UUID.randomUUID().toString();
+    String invoice = UUID.randomUUID().toString();
+
+    SVOwnershipClaim first = claimService.createOwnershipClaim(claim(
+        file("lease.pdf", lease), file("lease-copy.pdf", lease), file("photo.jpg", photo)));
+    SVOwnershipClaim second = claimService.createOwnershipClaim(claim(
+        file("lease-again.pdf", lease), file("invoice.pdf", invoice)));
+
+    ArgumentCaptor<List<MultipartFile>> uploads = ArgumentCaptor.forClass(List.class);
+    verify(storageService, times(2)).uploadFiles(uploads.capture(), anyList());
+    assertThat(uploads.getAllValues().get(0)).extracting(MultipartFile::getOriginalFilename)
+        .containsExactly("lease.pdf", "photo.jpg");
+    assertThat(uploads.getAllValues().get(1)).extracting(MultipartFile::getOriginalFilename)
+        .containsExactly("invoice.pdf");
+
+    List<String> firstUrls = first.getFiles().stream().map(SVVerificationFile::getFileUrl).toList();
+    List<String> secondUrls = second.getFiles().stream().map(SVVerificationFile::getFileUrl)
+        .toList();
+    assertThat(firstUrls.get(1)).isEqualTo(firstUrls.get(0));
+    assertThat(secondUrls.get(0)).isEqualTo(firstUrls.get(0));
+    assertThat(secondUrls.get(1)).endsWith("invoice.pdf");
+  }
+
+  @Test
+  void doesNotReuseAnotherUsersObjects() {
+    String lease = UUID.randomUUID().toString();
+    UUID firstUserId = SVTestUsers.findOrCreate(userRepository, SUB).getId();
+    SVOwnershipClaim first = claimService.createOwnershipClaim(claim(file("lease.pdf", lease)));
+    SVTestUsers.authenticate(userRepository, SUB + "-other");
+    SVOwnershipClaim second = claimService.createOwnershipClaim(claim(file("lease.pdf", lease)));
+
+    verify(storageService, times(2)).uploadFiles(anyList(), anyList());
+    assertThat(second.getFiles().get(0).getFileUrl())
+        .isNotEqualTo(first.getFiles().get(0).getFileUrl())
+        .doesNotContain(firstUserId.toString());
+  }
+
+  @Test
+  void generatesDownscaledPreviewsForImages() throws Exception {
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB), "png", png);
+    when(storageService.keyOf(anyString())).thenAnswer(
+        invocation -> invocation.<String>getArgument(0).substring("https://files.test/".length()));
+    when(storageService.download(anyString())).thenAnswer(
+        invocation -> new ByteArrayInputStream(png.toByteArray()));
+    when(storageService.uploadBytes(any(), anyString(), anyString())).thenAnswer(
+        invocation -> "https://files.test/" + invocation.getArgument(1));
+
+    SVOwnershipClaim claim = claimService.createOwnershipClaim(claim(
+        new MockMultipartFile("files", "court.png", "image/png", png.toByteArray()),
+        file("lease.pdf", UUID.randomUUID().toString())));
+    SVVerificationFile image = awaitPreview(claim.getFiles().get(0).getId());
+    SVVerificationFile document = awaitPreview(claim.getFiles().get(1).getId());
+
+    assertThat(image.getPreviewStatus()).isEqualTo(SVPreviewStatus.READY);
+    assertThat(image.getPreviewUrl()).startsWith("https://files.test/previews/").endsWith(".jpg");
+    assertThat(document.getPreviewStatus()).isEqualTo(SVPreviewStatus.SKIPPED);
+    assertThat(document.getPreviewUrl()).isNull();
+
+    ArgumentCaptor<byte[]> preview = ArgumentCaptor.forClass(byte[].class);
+    verify(storageService).uploadBytes(preview.capture(), anyString(), anyString());
+    BufferedImage rendered = ImageIO.read(new ByteArrayInputStream(preview.getValue()));
+    assertThat(rendered.getWidth()).isEqualTo(1024);
+    assertThat(rendered.getHeight()).isEqualTo(683);
+  }
+
+  private SVVerificationFile awaitPreview(UUID fileId) throws InterruptedException {
+    for (int i = 0; i < 100; i++) {
+      SVVerificationFile file = verificationFileRepository.findById(fileId).orElseThrow();
+      if (file.getPreviewStatus() != SVPreviewStatus.PENDING
+          && file.getPreviewStatus() != SVPreviewStatus.IN_PROGRESS) {
+        return file;
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError("Preview of " + fileId + " was not generated");
+  }
+
+  private static SVOwnershipClaimCreationData claim(MultipartFile... files) {
+    return new SVOwnershipClaimCreationData(SVEntityType.COURT, UUID.randomUUID(), null,
+        List.of(files));
+  }
+
+  private static MockMultipartFile file(String name, String content) {
+    return new MockMultipartFile("files", name, "application/octet-stream", content.getBytes());
+  }
+}
@@ -0,0 +1,187 @@
+package com.shuttleverse.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shuttleverse.community.config.SVR2Config;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+/**
+ * Runs the multipart path against MinIO standing in for R2.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SVR2StorageServiceTest {
+
+  private static final String BUCKET = "verification";
+  private static final String ACCESS_KEY = "minioadmin";
+  private static final String SECRET_KEY = "minioadmin";
+
+  @Container
+  private static final GenericContainer<?> minio = new GenericContainer<>("minio/minio:latest")
+      .withCommand("server", "/data")
+      .withEnv("MINIO_ROOT_USER", ACCESS_KEY)
+      .withEnv("MINIO_ROOT_PASSWORD", SECRET_KEY)
+      .withExposedPorts(9000)
+      .waitingFor(Wait.forHttp("/minio/health/ready").forPort(9000));
+
+  private static final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private static S3Client s3Client;
+  private static SVR2StorageService storageService;
+
+  @BeforeAll
+  static void createBucket() {
+    String endpoint = "http://" + minio.getHost() + ":" + minio.getMappedPort(9000);
+    s3Client = S3Client.builder()
+        .region(Region.of("auto"))
+        .endpointOverride(URI.create(endpoint))
+        .forcePathStyle(true)
+        .credentialsProvider(StaticCredentialsProvider.create(
+            AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+        .build();
+    s3Client.createBucket(request -> request.bucket(BUCKET));
+
+    SVR2Config config = new SVR2Config();
+    config.setEndpoint(endpoint);
+    config.setAccessKey(ACCESS_KEY);
+    config.setSecretKey(SECRET_KEY);
+    config.setBucket(BUCKET);
+    config.setPublicBaseUrl("https://files.test");
+    config.setPartSize(DataSize.ofMegabytes(5));
+    config.setUploadConcurrency(2);
+    storageService = new SVR2StorageService(config, meterRegistry);
+  }
+
+  @AfterAll
+  static void close() {
+    storageService.shutdown();
+    s3Client.close();
+  }
+
+  @Test
+  void uploadsLargeFileInParallelParts() {
+    byte[] content = new byte[20 * 1024 * 1024 + 17];
+    new Random(42).nextBytes(content);
+
+    String url = storageService.uploadFile(new MockMultipartFile("files", "large.bin",
+        "application/octet-stream", content), "large.bin");
+
+    assertThat(url).isEqualTo("https://files.test/large.bin");
+    byte[] stored = s3Client.getObjectAsBytes(request -> request.bucket(BUCKET).key("large.bin"))
+        .asByteArray();
+    assertThat(stored).isEqualTo(content);
+  }
+
+  @Test
+  void uploadsStreamInParallelParts() {
+    byte[] content = new byte[12 * 1024 * 1024 + 17];
+    new Random(42).nextBytes(content);
+
+    String url = storageService.uploadStream(new ByteArrayInputStream(content), "stream.bin",
+        "application/octet-stream");
+
+    assertThat(url).isEqualTo("https://files.test/stream.bin");
+    byte[] stored = s3Client.getObjectAsBytes(request -> request.bucket(BUCKET).key("stream.bin"))
+        .asByteArray();
+    assertThat(stored).isEqualTo(content);
+  }
+
+  @Test
+  void abortsUploadWhenStreamFails() {
+    InputStream failing = new SequenceInputStream(
+        new ByteArrayInputStream(new byte[6 * 1024 * 1024]), new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("connection reset");
+          }
+        });
+
+    assertThatThrownBy(() -> storageService.uploadStream(failing, "broken.bin", null))
+        .hasRootCauseMessage("connection reset");
+    assertThat(s3Client.listMultipartUploads(request -> request.bucket(BUCKET)).uploads())
+        .isEmpty();
+  }
+
+  @Test
+  void presignedUrlAcceptsOnlyTheSignedUpload() throws Exception {
+    byte[] content = "proof of ownership".getBytes();
+    PresignedPutObjectRequest presigned = storageService.presignUpload("proof.txt", "text/plain",
+        content.length);
+    HttpClient client = HttpClient.newHttpClient();
+
+    HttpResponse<Void> tampered = client.send(HttpRequest.newBuilder(presigned.url().toURI())
+        .header("Content-Type", "text/plain")
+        .PUT(HttpRequest.BodyPublishers.ofByteArray("something else entirely".getBytes()))
+        .build(), HttpResponse.BodyHandlers.discarding());
+    assertThat(tampered.statusCode()).isEqualTo(403);
+    assertThat(storageService.exists("proof.txt")).isFalse();
+
+    HttpResponse<Void> upload = client.send(HttpRequest.newBuilder(presigned.url().toURI())
+        .header("Content-Type", "text/plain")
+        .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+        .build(), HttpResponse.BodyHandlers.discarding());
+    assertThat(upload.statusCode()).isEqualTo(200);
+    assertThat(storageService.exists("proof.txt")).isTrue();
+  }
+
+  @Test
+  void deletesUploadedFilesWhenAnotherUploadFails() {
+    MockMultipartFile photo = new MockMultipartFile("files", "photo.jpg", "image/jpeg",
+        new byte[1024]);
+    MockMultipartFile broken = new MockMultipartFile("files", "broken.jpg", "image/jpeg",
+        new byte[1024]) {
+      @Override
+      public InputStream getInputStream() throws IOException {
+        throw new IOException("temporary file is gone");
+      }
+    };
+
+    assertThatThrownBy(() -> storageService.uploadFiles(List.of(photo, broken),
+        List.of("claim/photo.jpg", "claim/broken.jpg")))
+        .hasRootCauseMessage("temporary file is gone");
+    assertThat(storageService.exists("claim/photo.jpg")).isFalse();
+  }
+
+  @Test
+  void uploadsFilesAsynchronouslyAndExportsPoolMetrics() {
+    MockMultipartFile small = new MockMultipartFile("files", "small.jpg", "image/jpeg",
+        new byte[1024]);
+    MockMultipartFile large = new MockMultipartFile("files", "large.jpg", "image/jpeg",
+        new byte[20 * 1024 * 1024]);
+
+    List<String> urls = storageService.uploadFilesAsync(List.of(small, large),
+        List.of("async/small.jpg", "async/large.jpg")).join();
+
+    assertThat(urls).containsExactly("https://files.test/async/small.jpg",
+        "https://files.test/async/large.jpg");
+    assertThat(storageService.exists("async/large.jpg")).isTrue();
+    assertThat(meterRegistry.find("shuttleverse.r2.connections.max").tag("client", "NettyNio")
+        .gauge().value()).isEqualTo(64);
+    assertThat(meterRegistry.find("shuttleverse.r2.calls").tag("operation", "UploadPart")
+        .timer()).isNotNull();
+  }
+}
@@ -0,0 +1,130 @@
+package com.shuttleverse.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shuttleverse.community.SVTestUsers;
+import com.shuttleverse.community.constants.SVEntityType;
+import com.shuttleverse.community.constants.SVInfoType;
+import com.shuttleverse.community.model.SVCourt;
+import com.shuttleverse.community.model.SVCourtSchedule;
+import com.shuttleverse.community.model.SVUpvote;
+import com.shuttleverse.community.model.SVUser;
+import com.shuttleverse.community.query.SVQueryModel;
+import com.shuttleverse.community.repository.SVCourtRepository;
+import com.shuttleverse.community.repository.SVCourtScheduleRepository;
+import com.shuttleverse.community.repository.SVUpvoteRepository;
+import com.shuttleverse.community.repository.SVUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replacing a schedule list must cost a fixed number of statements, so its latency stays flat as
+ * the list grows. Each run replaces {@code size} voted rows with {@code size} new ones.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SVReplaceAllBenchmarkTest {
+
+  private static final String SUB = "replace-all-benchmark";
+
+  @Autowired
+  private SVCourtService courtService;
+  @Autowired
+  private SVUserRepository userRepository;
+  @Autowired
+  private SVCourtRepository courtRepository;
+  @Autowired
+  private SVCourtScheduleRepository scheduleRepository;
+  @Autowired
+  private SVUpvoteRepository upvoteRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SVUser user;
+
+  @BeforeEach
+  void authenticate() {
+    user = SVTestUsers.authenticate(userRepository, SUB);
+  }
+
+  @AfterEach
+  void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void replaceAllSchedulesStatementCountIsIndependentOfListSize() {
+    long small = measure(10);
+    long large = measure(100);
+
+    assertThat(large).isEqualTo(small);
+  }
+
+  private long measure(int size) {
+    SVCourt court = new SVCourt();
+    court.setName("benchmark" + size);
+    court.setCreator(user);
+    court = courtRepository.save(court);
+    UUID courtId = court.getId();
+
+    for (int i = 0; i < size; i++) {
+      SVCourtSchedule schedule = scheduleRepository.save(schedule(courtId, i, "08:00"));
+      SVUpvote upvote = new SVUpvote();
+      upvote.setEntityType(SVEntityType.COURT);
+      upvote.setInfoType(SVInfoType.SCHEDULE);
+      upvote.setEntityId(schedule.getId());
+      upvote.setUpvoteCreator(user);
+      upvoteRepository.save(upvote);
+    }
+
+    List<SVCourtSchedule> replacements = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      replacements.add(schedule(courtId, i, "09:00"));
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    long start = System.nanoTime();
+
+    List<SVCourtSchedule> result = transactionTemplate.execute(
+        status -> courtService.updateAllSchedules(courtId, replacements));
+
+    long elapsedMicros = (System.nanoTime() - start) / 1_000;
+    long statements = statistics.getPrepareStatementCount();
+    log.info("Replaced {} schedules with {} statements in {} us", size, statements,
+        elapsedMicros);
+
+    assertThat(result).hasSize(size);
+    assertThat(scheduleRepository.findAllByCourtId(courtId))
+        .allMatch(schedule -> schedule.getOpenTime().equals("09:00"));
+    assertThat(upvoteRepository.count(SVQueryModel.upvote.upvoteCreator.id.eq(user.getId())))
+        .isZero();
+    return statements;
+  }
+
+  private SVCourtSchedule schedule(UUID courtId, int index, String openTime) {
+    SVCourtSchedule schedule = new SVCourtSchedule();
+    schedule.setCourtId(courtId);
+    schedule.setDayOfWeek(index % 7);
+    schedule.setOpenTime(openTime);
+    schedule.setCloseTime(String.format("%02d:%02d", 10 + index / 60, index % 60));
+    schedule.setSubmittedBy(user);
+    return schedule;
+  }
+}
@@ -0,0 +1,14 @@
+create index if not exists "court_price_court_id_price_idx"
+    on "public"."court_price" using btree ("court_id", "min_price", "max_price");
+
+create index if not exists "court_schedule_court_id_day_idx"
+    on "public"."court_schedule" using btree ("court_id", "day_of_week");
+
+create index if not exists "coach_price_coach_id_price_idx"
+    on "public"."coach_price" using btree ("coach_id", "min_price", "max_price");
+
+create index if not exists "coach_schedule_coach_id_day_idx"
+    on "public"."coach_schedule" using btree ("coach_id", "day_of_week");
+
+create index if not exists "stringer_price_stringer_id_price_idx"
+    on "public"."stringer_price" using btree ("stringer_id", "price");
@@ -0,0 +1,8 @@
+create index if not exists "court_location_point_gist_idx"
+    on "public"."court" using gist ("location_point");
+
+create index if not exists "coach_location_point_gist_idx"
+    on "public"."coach" using gist ("location_point");
+
+create index if not exists "stringer_location_point_gist_idx"
+    on "public"."stringer" using gist ("location_point");
@@ -0,0 +1,11 @@
+alter table "public"."court"
+    alter column "location_point" type geometry(Point, 4326)
+    using ST_SetSRID("location_point", 4326);
+
+alter table "public"."coach"
+    alter column "location_point" type geometry(Point, 4326)
+    using ST_SetSRID("location_point", 4326);
+
+alter table "public"."stringer"
+    alter column "location_point" type geometry(Point, 4326)
+    using ST_SetSRID("location_point", 4326);
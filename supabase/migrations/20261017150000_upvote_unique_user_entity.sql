@@ -0,0 +1,8 @@
+delete from "public"."upvote" a
+    using "public"."upvote" b
+    where a."user_id" = b."user_id"
+      and a."entity_id" = b."entity_id"
+      and a."upvote_id" > b."upvote_id";
+
+create unique index if not exists "upvote_user_id_entity_id_key"
+    on "public"."upvote" using btree ("user_id", "entity_id");
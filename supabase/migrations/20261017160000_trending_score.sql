@@ -0,0 +1,65 @@
+alter table "public"."court" add column "trending_score" double precision;
+
+alter table "public"."coach" add column "trending_score" double precision;
+
+alter table "public"."stringer" add column "trending_score" double precision;
+
+-- Scores are log(sum(2 ^ (age_since_epoch / half_life))) over every vote on an entity's schedules
+-- and prices, with a 3 day half-life and 2026-01-01 as epoch. Must match SVTrendingScore.
+create or replace function "public"."trending_vote_weight"(voted_at timestamp with time zone)
+    returns double precision
+    language sql
+    immutable
+as
+$$
+select ln(2) / 259200 * extract(epoch from voted_at - timestamptz '2026-01-01 00:00:00+00')
+$$;
+
+update "public"."court" c
+set "trending_score" = s."score"
+from (select "parent_id", max("weight") + ln(sum(exp("weight" - "max_weight"))) as "score"
+      from (select "parent_id", "weight", max("weight") over (partition by "parent_id") as "max_weight"
+            from (select cs."court_id" as "parent_id", "public"."trending_vote_weight"(u."created_at") as "weight"
+                  from "public"."upvote" u
+                           join "public"."court_schedule" cs on cs."id" = u."entity_id"
+                  union all
+                  select cp."court_id", "public"."trending_vote_weight"(u."created_at")
+                  from "public"."upvote" u
+                           join "public"."court_price" cp on cp."id" = u."entity_id") v) w
+      group by "parent_id") s
+where c."id" = s."parent_id";
+
+update "public"."coach" c
+set "trending_score" = s."score"
+from (select "parent_id", max("weight") + ln(sum(exp("weight" - "max_weight"))) as "score"
+      from (select "parent_id", "weight", max("weight") over (partition by "parent_id") as "max_weight"
+            from (select cs."coach_id" as "parent_id", "public"."trending_vote_weight"(u."created_at") as "weight"
+                  from "public"."upvote" u
+                           join "public"."coach_schedule" cs on cs."id" = u."entity_id"
+                  union all
+                  select cp."coach_id", "public"."trending_vote_weight"(u."created_at")
+                  from "public"."upvote" u
+                           join "public"."coach_price" cp on cp."id" = u."entity_id") v) w
+      group by "parent_id") s
+where c."id" = s."parent_id";
+
+update "public"."stringer" c
+set "trending_score" = s."score"
+from (select "parent_id", max("weight") + ln(sum(exp("weight" - "max_weight"))) as "score"
+      from (select "parent_id", "weight", max("weight") over (partition by "parent_id") as "max_weight"
+            from (select sp."stringer_id" as "parent_id", "public"."trending_vote_weight"(u."created_at") as "weight"
+                  from "public"."upvote" u
+                           join "public"."stringer_price" sp on sp."id" = u."entity_id") v) w
+      group by "parent_id") s
+where c."id" = s."parent_id";
+
+drop function "public"."trending_vote_weight"(timestamp with time zone);
+
+create index if not exists "court_trending_score_idx"
+    on "public"."court" using btree ("trending_score" desc nulls last);
+
+create index if not exists "coach_trending_score_idx"
+    on "public"."coach" using btree ("trending_score" desc nulls last);
+
+create index if not exists "stringer_trending_score_idx"
+    on "public"."stringer" using btree ("trending_score" desc nulls last);
@@ -0,0 +1,6 @@
+-- Hex SHA-256 of the stored object, so a re-submitted proof can reuse it instead of uploading a
+-- copy. Existing rows stay null and are never matched.
+alter table "public"."verification_file" add column "content_hash" text;
+
+create index if not exists "verification_file_content_hash_idx"
+    on "public"."verification_file" using btree ("content_hash");
@@ -0,0 +1,18 @@
+-- Compressed previews of image proofs for the admin review queue, generated in the background.
+-- Existing rows start out pending so that the sweep backfills them. Files being rendered are leased
+-- as IN_PROGRESS until preview_retry_at, after which any instance's sweep takes them over, so the
+-- sweep index covers both states.
+alter table "public"."verification_file" add column "preview_url" text;
+
+alter table "public"."verification_file"
+    add column "preview_status" text not null default 'PENDING'::text;
+
+alter table "public"."verification_file"
+    add column "preview_attempts" integer not null default 0;
+
+alter table "public"."verification_file"
+    add column "preview_retry_at" timestamp with time zone;
+
+create index if not exists "verification_file_preview_due_idx"
+    on "public"."verification_file" using btree ("preview_retry_at" nulls first)
+    where "preview_status" in ('PENDING', 'IN_PROGRESS');